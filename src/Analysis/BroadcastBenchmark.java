@@ -0,0 +1,110 @@
+package Analysis;
+
+import Bots.GreedyStrategy;
+import Bots.RandomStrategy;
+import Bots.Strategy;
+import Domain.GameBoy;
+import Domain.GameBroadcaster;
+import Domain.GameDelta;
+import Domain.GameSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Benchmark for GameBroadcaster: one bot-played game fanned out to many
+ * in-process subscribers. A few consumer threads poll their share of the
+ * subscriptions; every tenth subscriber only reads occasionally so its queue
+ * fills and gets coalesced. At the end each subscriber's rebuilt state is
+ * checked against the game.
+ *
+ * Usage: BroadcastBenchmark [subscribers] [moves] [queueCapacity] [consumerThreads]
+ */
+public class BroadcastBenchmark {
+    public static void main(String[] args) throws Exception {
+        int subscribers = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int moves = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        int capacity = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+        int consumers = args.length > 3 ? Integer.parseInt(args[3])
+                : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+        GameBoy game = new GameBoy(2);
+        GameBroadcaster broadcaster = new GameBroadcaster(game);
+        broadcaster.newGame(374L);
+
+        List<GameBroadcaster.Subscription> subs = new ArrayList<>(subscribers);
+        GameSnapshot[] state = new GameSnapshot[subscribers];
+        for (int i = 0; i < subscribers; i++) {
+            subs.add(broadcaster.subscribe(capacity));
+            state[i] = subs.get(i).getSnapshot();
+        }
+
+        LongAdder delivered = new LongAdder();
+        AtomicBoolean publishing = new AtomicBoolean(true);
+        CountDownLatch consumersDone = new CountDownLatch(consumers);
+        for (int t = 0; t < consumers; t++) {
+            int from = t * subscribers / consumers;
+            int to = (t + 1) * subscribers / consumers;
+            Thread th = new Thread(() -> {
+                long pass = 0;
+                boolean draining = false;
+                while (true) {
+                    boolean any = false;
+                    for (int i = from; i < to; i++) {
+                        if (!draining && i % 10 == 0 && pass % 50 != 0) continue; // slow subscriber
+                        GameDelta d;
+                        while ((d = subs.get(i).poll()) != null) {
+                            state[i] = state[i].apply(d);
+                            delivered.increment();
+                            any = true;
+                        }
+                    }
+                    pass++;
+                    if (draining && !any) break;
+                    if (!publishing.get()) draining = true;
+                    if (!any) Thread.onSpinWait();
+                }
+                consumersDone.countDown();
+            }, "consumer-" + t);
+            th.setDaemon(true);
+            th.start();
+        }
+
+        Strategy[] seats = {new GreedyStrategy(), new RandomStrategy()};
+        SplittableRandom rng = new SplittableRandom(374L);
+        long start = System.nanoTime();
+        int games = 1;
+        for (int m = 0; m < moves; m++) {
+            if (game.gameOver()) {
+                broadcaster.newGame(rng.nextLong());
+                games++;
+            }
+            int seat = game.view().getCurrentPlayerIndex();
+            broadcaster.makeMove(seats[seat].chooseMove(game.view(), rng));
+        }
+        long publishNanos = System.nanoTime() - start;
+        publishing.set(false);
+        consumersDone.await();
+        long totalNanos = System.nanoTime() - start;
+
+        GameSnapshot expected = GameSnapshot.of(game, 0);
+        int mismatches = 0;
+        long coalesced = 0;
+        for (int i = 0; i < subscribers; i++) {
+            if (!state[i].sameState(expected)) mismatches++;
+            coalesced += subs.get(i).getCoalesced();
+        }
+
+        System.out.printf("%,d subscribers, %,d moves over %d games, queue capacity %d, %d consumer threads%n",
+                subscribers, moves, games, capacity, consumers);
+        System.out.printf("publish: %.2fs, %,.0f moves/s, %,.0f delta offers/s%n", publishNanos / 1e9,
+                moves / (publishNanos / 1e9), (double) moves * subscribers / (publishNanos / 1e9));
+        System.out.printf("delivered %,d deltas in %.2fs (%,.0f/s), %,d coalesced away%n",
+                delivered.sum(), totalNanos / 1e9, delivered.sum() / (totalNanos / 1e9), coalesced);
+        System.out.println("subscribers out of sync at the end: " + mismatches);
+    }
+}
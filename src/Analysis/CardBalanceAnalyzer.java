@@ -0,0 +1,249 @@
+package Analysis;
+
+import Domain.Card;
+import Domain.CardGenerator;
+import Domain.VpFormula;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Standalone balance analyzer for the card generator. Generates many cards (or
+ * 15-card decks) in parallel and reports how a VP formula behaves: a joint
+ * histogram of total cost against VP, per-color demand and VP-per-chip outliers.
+ *
+ * Usage: CardBalanceAnalyzer [-cards N | -decks N] [-seed S] [-threads T] [formulaClass ...]
+ * Each formulaClass must implement Domain.VpFormula with a no-arg constructor;
+ * with none given the default formula is analyzed. Every formula is run on the
+ * same seed, so all of them are scored on the identical stream of costs.
+ */
+public class CardBalanceAnalyzer {
+    // VP values above this land in the last (overflow) bucket
+    private static final int MAX_VP = 15;
+    private static final int COST_KEYS = CardGenerator.COST_KEYS;
+
+    private final long seed;
+    private final int threads;
+    // formula output for every cost key the generator can produce (0 for the rest);
+    // a formula only depends on the cost vector
+    private final int[] vpOfCostKey = new int[COST_KEYS];
+
+    public CardBalanceAnalyzer(VpFormula formula, long seed, int threads) {
+        this.seed = seed;
+        this.threads = Math.max(1, threads);
+        int[] costs = new int[Card.COLORS.length];
+        for (int k = 0; k < COST_KEYS; k++) {
+            // skip costs like all zeros that no card has, so plug-ins may divide by the cost
+            if (!CardGenerator.isPossibleCostKey(k)) continue;
+            CardGenerator.unpackCost(k, costs);
+            vpOfCostKey[k] = formula.victoryPoints(costs);
+        }
+    }
+
+    /**
+     * Per-thread counters; merged once all workers are done. Only the count per
+     * cost key is kept per card: cost, VP and color demand all follow from it.
+     */
+    static class Tally {
+        long cards;
+        long decks;
+        final long[] perCostKey = new long[COST_KEYS];
+        final long[] deckVp = new long[CardGenerator.DECK_SIZE * (MAX_VP + 1) + 1];
+
+        void merge(Tally o) {
+            cards += o.cards;
+            decks += o.decks;
+            add(perCostKey, o.perCostKey);
+            add(deckVp, o.deckVp);
+        }
+
+        private static void add(long[] into, long[] from) {
+            for (int i = 0; i < into.length; i++) into[i] += from[i];
+        }
+    }
+
+    /**
+     * Generate the given number of cards, grouped into decks when deckMode is set
+     * (count is then a number of decks). Each thread gets its own split of the
+     * seeded SplittableRandom and allocates nothing per card.
+     */
+    public Tally run(long count, boolean deckMode) throws Exception {
+        SplittableRandom root = new SplittableRandom(seed);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Tally>> parts = new ArrayList<>();
+            long per = count / threads;
+            for (int t = 0; t < threads; t++) {
+                long share = t == threads - 1 ? count - per * (threads - 1) : per;
+                SplittableRandom rand = root.split();
+                parts.add(pool.submit(() -> sweep(rand, share, deckMode)));
+            }
+            Tally total = new Tally();
+            for (Future<Tally> f : parts) total.merge(f.get());
+            return total;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private Tally sweep(SplittableRandom rand, long count, boolean deckMode) {
+        Tally t = new Tally();
+        long[] perCostKey = t.perCostKey;
+        if (!deckMode) {
+            for (long n = 0; n < count; n++) perCostKey[CardGenerator.randomCostKey(rand)]++;
+            t.cards = count;
+            return t;
+        }
+        for (long n = 0; n < count; n++) {
+            int deckVp = 0;
+            for (int i = 0; i < CardGenerator.DECK_SIZE; i++) {
+                int key = CardGenerator.randomCostKey(rand);
+                perCostKey[key]++;
+                deckVp += Math.max(0, Math.min(vpOfCostKey[key], MAX_VP));
+            }
+            t.deckVp[deckVp]++;
+        }
+        t.decks = count;
+        t.cards = count * CardGenerator.DECK_SIZE;
+        return t;
+    }
+
+    /** Print the joint histogram, color demand and efficiency outliers. */
+    public void report(String name, Tally t, long elapsedNanos) {
+        System.out.printf("== %s: %,d cards in %.2fs (%,.0f cards/s)%n", name, t.cards,
+                elapsedNanos / 1e9, t.cards / (elapsedNanos / 1e9));
+
+        long[] costVsVp = new long[(CardGenerator.MAX_TOTAL_COST + 1) * (MAX_VP + 1)];
+        long[] colorTokens = new long[Card.COLORS.length];
+        long[] colorCards = new long[Card.COLORS.length];
+        int[] costs = new int[Card.COLORS.length];
+        for (int k = 0; k < COST_KEYS; k++) {
+            long n = t.perCostKey[k];
+            if (n == 0) continue;
+            CardGenerator.unpackCost(k, costs);
+            int total = 0;
+            for (int c = 0; c < costs.length; c++) {
+                total += costs[c];
+                colorTokens[c] += n * costs[c];
+                if (costs[c] > 0) colorCards[c] += n;
+            }
+            costVsVp[total * (MAX_VP + 1) + Math.max(0, Math.min(vpOfCostKey[k], MAX_VP))] += n;
+        }
+
+        System.out.println("cost \\ VP (share of cards, %)");
+        System.out.print("      ");
+        int maxVpSeen = 0;
+        for (int i = 0; i < costVsVp.length; i++) {
+            if (costVsVp[i] > 0) maxVpSeen = Math.max(maxVpSeen, i % (MAX_VP + 1));
+        }
+        for (int vp = 0; vp <= maxVpSeen; vp++) System.out.printf("%7s", vp == MAX_VP ? vp + "+" : vp);
+        System.out.println();
+        for (int cost = 0; cost <= CardGenerator.MAX_TOTAL_COST; cost++) {
+            long row = 0;
+            for (int vp = 0; vp <= MAX_VP; vp++) row += costVsVp[cost * (MAX_VP + 1) + vp];
+            if (row == 0) continue;
+            System.out.printf("%4d  ", cost);
+            for (int vp = 0; vp <= maxVpSeen; vp++) {
+                System.out.printf("%7.2f", 100.0 * costVsVp[cost * (MAX_VP + 1) + vp] / t.cards);
+            }
+            System.out.println();
+        }
+
+        System.out.println("color demand (avg tokens per card, % of cards needing it)");
+        for (int c = 0; c < Card.COLORS.length; c++) {
+            System.out.printf("  %c  %.3f  %6.2f%%%n", Card.COLORS[c],
+                    (double) colorTokens[c] / t.cards, 100.0 * colorCards[c] / t.cards);
+        }
+
+        reportOutliers(t);
+
+        if (t.decks > 0) {
+            double mean = 0;
+            for (int v = 0; v < t.deckVp.length; v++) mean += (double) v * t.deckVp[v] / t.decks;
+            System.out.printf("deck VP: mean %.2f, p1 %d, p50 %d, p99 %d%n", mean,
+                    percentile(t.deckVp, t.decks, 0.01), percentile(t.deckVp, t.decks, 0.50),
+                    percentile(t.deckVp, t.decks, 0.99));
+        }
+    }
+
+    // cost vectors whose VP per chip is more than 2 standard deviations from the mean
+    private void reportOutliers(Tally t) {
+        double mean = 0;
+        double sq = 0;
+        for (int k = 0; k < COST_KEYS; k++) {
+            if (t.perCostKey[k] == 0) continue;
+            double eff = efficiency(k);
+            double w = (double) t.perCostKey[k] / t.cards;
+            mean += w * eff;
+            sq += w * eff * eff;
+        }
+        double sd = Math.sqrt(Math.max(0, sq - mean * mean));
+        System.out.printf("VP per chip: mean %.3f, sd %.3f; outliers beyond 2 sd:%n", mean, sd);
+        List<Integer> outliers = new ArrayList<>();
+        for (int k = 0; k < COST_KEYS; k++) {
+            if (t.perCostKey[k] > 0 && sd > 0 && Math.abs(efficiency(k) - mean) > 2 * sd) outliers.add(k);
+        }
+        outliers.sort((a, b) -> Double.compare(efficiency(b), efficiency(a)));
+        int shown = 0;
+        for (int k : outliers) {
+            if (shown++ == 10) {
+                System.out.println("  ... " + (outliers.size() - 10) + " more");
+                break;
+            }
+            int[] costs = new int[Card.COLORS.length];
+            CardGenerator.unpackCost(k, costs);
+            System.out.printf("  %-8s vp=%d  %.3f/chip  z=%+.2f  %.3f%% of cards%n",
+                    CardGenerator.costString(costs), vpOfCostKey[k], efficiency(k),
+                    (efficiency(k) - mean) / sd, 100.0 * t.perCostKey[k] / t.cards);
+        }
+        if (outliers.isEmpty()) System.out.println("  none");
+    }
+
+    private double efficiency(int key) {
+        int total = 0;
+        for (int c = 0; c < Card.COLORS.length; c++) total += (key >>> (2 * c)) & 3;
+        return (double) vpOfCostKey[key] / total;
+    }
+
+    private static int percentile(long[] hist, long n, double q) {
+        long target = (long) Math.ceil(q * n);
+        long seen = 0;
+        for (int i = 0; i < hist.length; i++) {
+            seen += hist[i];
+            if (seen >= target && seen > 0) return i;
+        }
+        return hist.length - 1;
+    }
+
+    public static void main(String[] args) throws Exception {
+        long count = 100_000_000L;
+        boolean deckMode = false;
+        long seed = 374L;
+        int threads = Runtime.getRuntime().availableProcessors();
+        List<String> formulaNames = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-cards": count = Long.parseLong(args[++i]); deckMode = false; break;
+                case "-decks": count = Long.parseLong(args[++i]); deckMode = true; break;
+                case "-seed": seed = Long.parseLong(args[++i]); break;
+                case "-threads": threads = Integer.parseInt(args[++i]); break;
+                default: formulaNames.add(args[i]);
+            }
+        }
+        if (formulaNames.isEmpty()) formulaNames.add("default");
+
+        for (String name : formulaNames) {
+            VpFormula formula = name.equals("default") ? VpFormula.DEFAULT
+                    : (VpFormula) Class.forName(name).getDeclaredConstructor().newInstance();
+            CardBalanceAnalyzer analyzer = new CardBalanceAnalyzer(formula, seed, threads);
+            long start = System.nanoTime();
+            Tally t = analyzer.run(count, deckMode);
+            analyzer.report(name, t, System.nanoTime() - start);
+            System.out.println();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package Bots;
+
+/**
+ * Elo ratings for a fixed set of players, updated one game at a time. Not
+ * thread-safe: TournamentRunner applies every result from a single thread.
+ */
+public class EloRatings {
+    public static final double INITIAL_RATING = 1500;
+
+    private final double k;
+    private final double[] ratings;
+    private final int[] wins;
+    private final int[] draws;
+    private final int[] losses;
+
+    public EloRatings(int players, double k) {
+        this.k = k;
+        this.ratings = new double[players];
+        this.wins = new int[players];
+        this.draws = new int[players];
+        this.losses = new int[players];
+        java.util.Arrays.fill(ratings, INITIAL_RATING);
+    }
+
+    /** Record one game; scoreA is 1 for a win by a, 0.5 for a draw and 0 for a loss. */
+    public void record(int a, int b, double scoreA) {
+        double expectedA = 1 / (1 + Math.pow(10, (ratings[b] - ratings[a]) / 400));
+        double delta = k * (scoreA - expectedA);
+        ratings[a] += delta;
+        ratings[b] -= delta;
+        if (scoreA > 0.5) {
+            wins[a]++;
+            losses[b]++;
+        } else if (scoreA < 0.5) {
+            wins[b]++;
+            losses[a]++;
+        } else {
+            draws[a]++;
+            draws[b]++;
+        }
+    }
+
+    public double getRating(int player) { return ratings[player]; }
+
+    public int getWins(int player) { return wins[player]; }
+
+    public int getDraws(int player) { return draws[player]; }
+
+    public int getLosses(int player) { return losses[player]; }
+
+    public int size() { return ratings.length; }
+
+    /** Player indices ordered by rating, best first. */
+    public Integer[] ranking() {
+        Integer[] order = new Integer[ratings.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        java.util.Arrays.sort(order, (x, y) -> Double.compare(ratings[y], ratings[x]));
+        return order;
+    }
+}
@@ -0,0 +1,448 @@
+package Bots;
+
+import Domain.Card;
+import Domain.GameBoy;
+import Domain.GameView;
+import Domain.Move;
+import Domain.MoveResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Exact alpha-beta search for two-player endgames with only a few cards left.
+ * It searches whole turns as GameBoy.makeMove allows them: buy one affordable
+ * card, draw two chips of one color, or draw three different colors.
+ * The value is the VP margin (mover minus opponent) when the game ends, or at
+ * the turn horizon if it has not ended by then.
+ *
+ * A state is packed into two longs: chips (6 bits per player and color), plus
+ * remaining-card mask, turn and both VP totals. Chips above what the
+ * remaining cards could ever cost are capped, which merges states without
+ * changing any result. Results go in a shared memo table and are reused
+ * only at the same remaining depth, so the horizon margin does not depend on
+ * which path reached a state first. Nodes at depth splitDepth and above
+ * search their first move alone and the rest in parallel (young brothers
+ * wait) on a fork/join pool.
+ */
+public class EndgameSolver {
+    /** Largest market the state encoding supports. */
+    public static final int MAX_CARDS = 12;
+    private static final int COLORS = Card.COLORS.length;
+    private static final int CHIP_BITS = 6;
+    private static final int CHIP_MAX = (1 << CHIP_BITS) - 1;
+    private static final int VP_MAX = 255;
+    private static final int INF = 1 << 20;
+    // the ten ways to draw three different colors, as color bitmasks
+    private static final int[] THREE_COLORS;
+
+    static {
+        List<Integer> combos = new ArrayList<>();
+        for (int a = 0; a < COLORS; a++)
+            for (int b = a + 1; b < COLORS; b++)
+                for (int c = b + 1; c < COLORS; c++) combos.add(1 << a | 1 << b | 1 << c);
+        THREE_COLORS = combos.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /** Best play found for the player to move. */
+    public static final class Result {
+        /** The whole turn to play; its first move is the one to make now. */
+        public final List<Move> plan;
+        /** Guaranteed VP margin (mover minus opponent) at game end or the horizon. */
+        public final int margin;
+        public final long nodes;
+        public final long nanos;
+
+        Result(List<Move> plan, int margin, long nodes, long nanos) {
+            this.plan = Collections.unmodifiableList(plan);
+            this.margin = margin;
+            this.nodes = nodes;
+            this.nanos = nanos;
+        }
+
+        public Move getBestMove() { return plan.get(0); }
+
+        public double getNodesPerSecond() { return nanos == 0 ? 0 : nodes / (nanos / 1e9); }
+    }
+
+    private static final int EXACT = 0;
+    private static final int LOWER = 1;
+    private static final int UPPER = 2;
+
+    private static final class Key {
+        final long chips;
+        final long rest;
+
+        Key(long chips, long rest) {
+            this.chips = chips;
+            this.rest = rest;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return chips == k.chips && rest == k.rest;
+        }
+
+        @Override
+        public int hashCode() {
+            long h = chips * 0x9E3779B97F4A7C15L ^ rest;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+
+    private static final class Entry {
+        final int depth;
+        final int value;
+        final int flag;
+        final int bestAction;
+
+        Entry(int depth, int value, int flag, int bestAction) {
+            this.depth = depth;
+            this.value = value;
+            this.flag = flag;
+            this.bestAction = bestAction;
+        }
+    }
+
+    private final int maxCards;
+    private final int horizonTurns;
+    private final int splitDepth;
+    private final ForkJoinPool pool;
+
+    /**
+     * @param maxCards     solve only when at most this many cards remain (at most MAX_CARDS)
+     * @param horizonTurns turns searched ahead; positions still running then are scored on VP
+     * @param splitDepth   remaining depth at or above which a node's moves are searched in parallel
+     */
+    public EndgameSolver(int maxCards, int horizonTurns, int splitDepth, ForkJoinPool pool) {
+        if (maxCards > MAX_CARDS) throw new IllegalArgumentException("maxCards > " + MAX_CARDS);
+        this.maxCards = maxCards;
+        this.horizonTurns = Math.max(1, horizonTurns);
+        this.splitDepth = Math.max(1, splitDepth);
+        this.pool = pool;
+    }
+
+    public EndgameSolver(int maxCards, int horizonTurns) {
+        this(maxCards, horizonTurns, Math.max(2, horizonTurns - 2), ForkJoinPool.commonPool());
+    }
+
+    /** True if the position is small enough for the solver to take over. */
+    public boolean applies(GameView view) {
+        return view.getPlayerCount() == 2 && !view.isGameOver() && view.getCards().size() <= maxCards;
+    }
+
+    /** Solve the position; the view must satisfy {@link #applies}. */
+    public Result solve(GameView view) {
+        if (!applies(view)) throw new IllegalArgumentException("position is not a small two-player endgame");
+        Search s = new Search(view.getCards());
+        int me = view.getCurrentPlayerIndex();
+        int[] vp = {view.getVP(0), view.getVP(1)};
+        long chips = 0;
+        for (int p = 0; p < 2; p++) {
+            for (int c = 0; c < COLORS; c++) {
+                chips = withChip(chips, p, c, Math.min(CHIP_MAX, view.getChips(p, Card.COLORS[c])));
+            }
+        }
+        int mask = (1 << view.getCards().size()) - 1;
+        long start = System.nanoTime();
+
+        // root options: whole turns (or the rest of a turn already started)
+        List<List<Move>> plans = new ArrayList<>();
+        List<long[]> children = new ArrayList<>();
+        if (!view.isChipDrawn()) {
+            for (int i = 0; i < s.n; i++) {
+                if (s.affordable(chips, me, i)) {
+                    plans.add(List.of(Move.buy(i)));
+                    children.add(s.afterBuy(chips, mask, me, vp[0], vp[1], i));
+                }
+            }
+        }
+        int drawn = 0;
+        int drawnCount = 0;
+        for (int c = 0; c < COLORS; c++) {
+            int d = view.getDrawnThisTurn(Card.COLORS[c]);
+            if (d > 0) drawn |= 1 << c;
+            drawnCount += d;
+        }
+        for (int[] draw : drawCompletions(drawn, drawnCount)) {
+            List<Move> plan = new ArrayList<>();
+            for (int c : draw) plan.add(Move.draw(Card.COLORS[c]));
+            plans.add(plan);
+            children.add(s.afterDraw(chips, mask, me, vp[0], vp[1], draw));
+        }
+
+        int best = -INF;
+        int bestIdx = 0;
+        for (int i = 0; i < plans.size(); i++) {
+            long[] ch = children.get(i);
+            // only a move that beats the best so far needs an exact value
+            int v = -pool.invoke(s.task(ch[0], ch[1], horizonTurns - 1, -INF, -best));
+            if (v > best) {
+                best = v;
+                bestIdx = i;
+            }
+        }
+        return new Result(plans.get(bestIdx), best, s.nodes.sum(), System.nanoTime() - start);
+    }
+
+    // remaining draws that complete a turn, given the colors (mask) and number of chips already drawn
+    private static List<int[]> drawCompletions(int drawn, int drawnCount) {
+        List<int[]> out = new ArrayList<>();
+        if (drawnCount == 0) {
+            for (int c = 0; c < COLORS; c++) out.add(new int[]{c, c});
+            for (int combo : THREE_COLORS) out.add(colorsOf(combo));
+        } else if (drawnCount == 1) {
+            int a = Integer.numberOfTrailingZeros(drawn);
+            out.add(new int[]{a});
+            for (int combo : THREE_COLORS) {
+                if ((combo & drawn) != 0) out.add(colorsOf(combo & ~drawn));
+            }
+        } else {
+            for (int c = 0; c < COLORS; c++) if ((drawn & 1 << c) == 0) out.add(new int[]{c});
+        }
+        return out;
+    }
+
+    private static int[] colorsOf(int colorMask) {
+        int[] out = new int[Integer.bitCount(colorMask)];
+        for (int c = 0, i = 0; c < COLORS; c++) if ((colorMask & 1 << c) != 0) out[i++] = c;
+        return out;
+    }
+
+    private static int chip(long chips, int player, int color) {
+        return (int) (chips >>> ((player * COLORS + color) * CHIP_BITS)) & CHIP_MAX;
+    }
+
+    private static long withChip(long chips, int player, int color, int count) {
+        int shift = (player * COLORS + color) * CHIP_BITS;
+        return chips & ~((long) CHIP_MAX << shift) | (long) count << shift;
+    }
+
+    // rest word: card mask (12 bits), turn (1 bit), VP of each player (8 bits each)
+    private static long rest(int mask, int turn, int vp0, int vp1) {
+        return mask | (long) turn << MAX_CARDS | (long) Math.min(vp0, VP_MAX) << (MAX_CARDS + 1)
+                | (long) Math.min(vp1, VP_MAX) << (MAX_CARDS + 9);
+    }
+
+    /** One solve: the market's cards as arrays, the memo table and the node counter. */
+    private final class Search {
+        final int n;
+        final int[] cardVp;
+        final int[][] cardCost;
+        // per remaining-card mask, the most chips of each color that could still be spent
+        final int[][] demand;
+        // buy order: most VP first
+        final int[] byVp;
+        final ConcurrentHashMap<Key, Entry> memo = new ConcurrentHashMap<>();
+        final LongAdder nodes = new LongAdder();
+
+        Search(List<Card> cards) {
+            n = cards.size();
+            cardVp = new int[n];
+            cardCost = new int[n][COLORS];
+            for (int i = 0; i < n; i++) {
+                cardVp[i] = cards.get(i).getVictoryPoints();
+                for (Map.Entry<Character, Integer> e : cards.get(i).getCostMap().entrySet()) {
+                    int c = Card.colorIndex(e.getKey());
+                    if (c >= 0) cardCost[i][c] += e.getValue();
+                }
+            }
+            demand = new int[1 << n][COLORS];
+            for (int m = 1; m < 1 << n; m++) {
+                int i = Integer.numberOfTrailingZeros(m);
+                for (int c = 0; c < COLORS; c++) {
+                    demand[m][c] = Math.min(CHIP_MAX, demand[m & (m - 1)][c] + cardCost[i][c]);
+                }
+            }
+            Integer[] order = new Integer[n];
+            for (int i = 0; i < n; i++) order[i] = i;
+            java.util.Arrays.sort(order, (a, b) -> cardVp[b] - cardVp[a]);
+            byVp = new int[n];
+            for (int i = 0; i < n; i++) byVp[i] = order[i];
+        }
+
+        boolean affordable(long chips, int player, int card) {
+            for (int c = 0; c < COLORS; c++) if (chip(chips, player, c) < cardCost[card][c]) return false;
+            return true;
+        }
+
+        long cap(long chips, int mask) {
+            for (int p = 0; p < 2; p++) {
+                for (int c = 0; c < COLORS; c++) {
+                    int have = chip(chips, p, c);
+                    if (have > demand[mask][c]) chips = withChip(chips, p, c, demand[mask][c]);
+                }
+            }
+            return chips;
+        }
+
+        long[] afterBuy(long chips, int mask, int player, int vp0, int vp1, int card) {
+            for (int c = 0; c < COLORS; c++) {
+                chips = withChip(chips, player, c, chip(chips, player, c) - cardCost[card][c]);
+            }
+            int newMask = mask & ~(1 << card);
+            if (player == 0) vp0 += cardVp[card];
+            else vp1 += cardVp[card];
+            return new long[]{cap(chips, newMask), rest(newMask, 1 - player, vp0, vp1)};
+        }
+
+        long[] afterDraw(long chips, int mask, int player, int vp0, int vp1, int[] colors) {
+            for (int c : colors) chips = withChip(chips, player, c, Math.min(CHIP_MAX, chip(chips, player, c) + 1));
+            return new long[]{cap(chips, mask), rest(mask, 1 - player, vp0, vp1)};
+        }
+
+        // actions: 0..n-1 buy that card, n..n+4 draw two of a color, then the three-color draws
+        int actionCount() {
+            return n + COLORS + THREE_COLORS.length;
+        }
+
+        long[] apply(long chips, int mask, int turn, int vp0, int vp1, int action) {
+            if (action < n) {
+                if ((mask & 1 << action) == 0 || !affordable(chips, turn, action)) return null;
+                return afterBuy(chips, mask, turn, vp0, vp1, action);
+            }
+            int a = action - n;
+            int[] colors = a < COLORS ? new int[]{a, a} : colorsOf(THREE_COLORS[a - COLORS]);
+            return afterDraw(chips, mask, turn, vp0, vp1, colors);
+        }
+
+        // negamax value for the player to move
+        int search(long chips, long rest, int depth, int alpha, int beta) {
+            nodes.increment();
+            int mask = (int) (rest & ((1 << MAX_CARDS) - 1));
+            int turn = (int) (rest >>> MAX_CARDS) & 1;
+            int vp0 = (int) (rest >>> (MAX_CARDS + 1)) & VP_MAX;
+            int vp1 = (int) (rest >>> (MAX_CARDS + 9)) & VP_MAX;
+            int margin = turn == 0 ? vp0 - vp1 : vp1 - vp0;
+            if (mask == 0 || vp0 >= GameBoy.WINNING_VP || vp1 >= GameBoy.WINNING_VP || depth == 0) return margin;
+
+            Key key = new Key(chips, rest);
+            Entry e = memo.get(key);
+            int hint = -1;
+            int alpha0 = alpha;
+            if (e != null) {
+                hint = e.bestAction;
+                // a deeper entry has a different horizon, so its value would only be a hint
+                if (e.depth == depth) {
+                    if (e.flag == EXACT) return e.value;
+                    if (e.flag == LOWER) alpha = Math.max(alpha, e.value);
+                    else beta = Math.min(beta, e.value);
+                    if (alpha >= beta) return e.value;
+                }
+            }
+
+            int[] order = order(hint);
+            int best = -INF;
+            int bestAction = -1;
+            int first = 0;
+            // young brothers wait: search until one move is known, then the rest in parallel
+            for (; first < order.length && (bestAction < 0 || depth < splitDepth); first++) {
+                long[] child = apply(chips, mask, turn, vp0, vp1, order[first]);
+                if (child == null) continue;
+                int v = -search(child[0], child[1], depth - 1, -beta, -alpha);
+                if (v > best) {
+                    best = v;
+                    bestAction = order[first];
+                }
+                alpha = Math.max(alpha, v);
+                if (alpha >= beta) break;
+            }
+            if (alpha < beta && first < order.length) {
+                AtomicInteger sharedAlpha = new AtomicInteger(alpha);
+                List<RecursiveTask<Integer>> tasks = new ArrayList<>();
+                List<Integer> actions = new ArrayList<>();
+                for (int i = first; i < order.length; i++) {
+                    long[] child = apply(chips, mask, turn, vp0, vp1, order[i]);
+                    if (child == null) continue;
+                    int b = beta;
+                    tasks.add(new RecursiveTask<>() {
+                        @Override
+                        protected Integer compute() {
+                            int a = sharedAlpha.get();
+                            if (a >= b) return INF; // a sibling already caused a cutoff
+                            int v = -search(child[0], child[1], depth - 1, -b, -a);
+                            sharedAlpha.accumulateAndGet(v, Math::max);
+                            return -v;
+                        }
+                    });
+                    actions.add(order[i]);
+                }
+                RecursiveTask.invokeAll(tasks);
+                for (int i = 0; i < tasks.size(); i++) {
+                    int v = -tasks.get(i).join();
+                    if (v > best) {
+                        best = v;
+                        bestAction = actions.get(i);
+                    }
+                }
+                alpha = Math.max(alpha, best);
+            }
+
+            int flag = best <= alpha0 ? UPPER : best >= beta ? LOWER : EXACT;
+            memo.merge(key, new Entry(depth, best, flag, bestAction),
+                    (old, neu) -> old.depth > neu.depth ? old : neu);
+            return best;
+        }
+
+        // memo hint first, then buys by VP, then draws
+        int[] order(int hint) {
+            int[] order = new int[actionCount()];
+            int k = 0;
+            if (hint >= 0) order[k++] = hint;
+            for (int i : byVp) if (i != hint) order[k++] = i;
+            for (int a = n; a < order.length; a++) if (a != hint) order[k++] = a;
+            return order;
+        }
+
+        RecursiveTask<Integer> task(long chips, long rest, int depth, int alpha, int beta) {
+            return new RecursiveTask<>() {
+                @Override
+                protected Integer compute() {
+                    return search(chips, rest, depth, alpha, beta);
+                }
+            };
+        }
+    }
+
+    /**
+     * Benchmark: deal a seeded game, let greedy bots play until only maxCards
+     * remain, then solve it, report nodes per second and check the plan with
+     * GameBoy.makeMoves.
+     *
+     * Usage: EndgameSolver [maxCards] [horizonTurns] [seed]
+     */
+    public static void main(String[] args) {
+        int maxCards = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        int horizon = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 374L;
+
+        GameBoy game = new GameBoy(2);
+        game.newGame(seed);
+        Strategy greedy = new GreedyStrategy();
+        SplittableRandom rng = new SplittableRandom(seed);
+        EndgameSolver solver = new EndgameSolver(maxCards, horizon);
+        while (!game.gameOver() && !solver.applies(game.view())) {
+            game.makeMove(greedy.chooseMove(game.view(), rng));
+        }
+        if (game.gameOver()) {
+            System.out.println("game ended before reaching " + maxCards + " cards; try another seed");
+            return;
+        }
+        System.out.println(game);
+        Result r = solver.solve(game.view());
+        System.out.printf("plan %s, margin %+d, %,d nodes in %.2fs (%,.0f nodes/s, %d threads)%n", r.plan,
+                r.margin, r.nodes, r.nanos / 1e9, r.getNodesPerSecond(), solver.pool.getParallelism());
+        MoveResult[] applied = game.copy().makeMoves(r.plan);
+        System.out.println("plan accepted by GameBoy: " + java.util.Arrays.toString(applied));
+    }
+}
@@ -0,0 +1,31 @@
+package Bots;
+
+import Domain.GameView;
+import Domain.Move;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Plays like a fallback strategy until the market is small enough, then plays
+ * the exact EndgameSolver move.
+ */
+public class EndgameStrategy implements Strategy {
+    private final Strategy fallback;
+    private final EndgameSolver solver;
+
+    public EndgameStrategy(Strategy fallback, int maxCards, int horizonTurns) {
+        this.fallback = fallback;
+        this.solver = new EndgameSolver(maxCards, horizonTurns);
+    }
+
+    /** Greedy play, solving exactly from 4 cards left with a 6-turn horizon. */
+    public EndgameStrategy() {
+        this(new GreedyStrategy(), 4, 6);
+    }
+
+    @Override
+    public Move chooseMove(GameView view, RandomGenerator rng) {
+        if (solver.applies(view)) return solver.solve(view).getBestMove();
+        return fallback.chooseMove(view, rng);
+    }
+}
@@ -0,0 +1,66 @@
+package Bots;
+
+import Domain.Card;
+import Domain.GameView;
+import Domain.Move;
+
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Buys the most valuable affordable card; otherwise draws toward the card with
+ * the best VP per missing chip.
+ */
+public class GreedyStrategy implements Strategy {
+    @Override
+    public Move chooseMove(GameView view, RandomGenerator rng) {
+        List<Card> cards = view.getCards();
+
+        int bestBuy = -1;
+        for (int i = 0; i < cards.size(); i++) {
+            if (view.canBuy(i) && (bestBuy < 0
+                    || cards.get(i).getVictoryPoints() > cards.get(bestBuy).getVictoryPoints())) {
+                bestBuy = i;
+            }
+        }
+        if (bestBuy >= 0) return Move.buy(bestBuy);
+        Move draw = drawMove(view, rng);
+        if (draw == null) throw new IllegalStateException("no legal move");
+        return draw;
+    }
+
+    /** The draw this strategy would make, ignoring buys; null if no color can be drawn. */
+    Move drawMove(GameView view, RandomGenerator rng) {
+        List<Card> cards = view.getCards();
+        int me = view.getCurrentPlayerIndex();
+
+        // pick the target card with the best VP per chip still missing
+        Card target = null;
+        double bestScore = -1;
+        for (Card c : cards) {
+            int missing = 0;
+            for (Map.Entry<Character, Integer> e : c.getCostMap().entrySet()) {
+                missing += Math.max(0, e.getValue() - view.getChips(me, e.getKey()));
+            }
+            double score = (double) c.getVictoryPoints() / Math.max(1, missing);
+            if (score > bestScore) {
+                bestScore = score;
+                target = c;
+            }
+        }
+        if (target != null) {
+            for (Map.Entry<Character, Integer> e : target.getCostMap().entrySet()) {
+                char color = e.getKey();
+                if (e.getValue() > view.getChips(me, color) && view.canDraw(color)) return Move.draw(color);
+            }
+        }
+        // nothing useful left to draw: take any legal color, starting at a random one
+        int start = rng.nextInt(Card.COLORS.length);
+        for (int i = 0; i < Card.COLORS.length; i++) {
+            char color = Card.COLORS[(start + i) % Card.COLORS.length];
+            if (view.canDraw(color)) return Move.draw(color);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,24 @@
+package Bots;
+
+import Domain.Card;
+import Domain.GameView;
+import Domain.Move;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/** Picks uniformly among all legal moves. Useful as a rating floor. */
+public class RandomStrategy implements Strategy {
+    @Override
+    public Move chooseMove(GameView view, RandomGenerator rng) {
+        List<Move> legal = new ArrayList<>();
+        for (int i = 0; i < view.getCards().size(); i++) {
+            if (view.canBuy(i)) legal.add(Move.buy(i));
+        }
+        for (char c : Card.COLORS) {
+            if (view.canDraw(c)) legal.add(Move.draw(c));
+        }
+        return legal.get(rng.nextInt(legal.size()));
+    }
+}
@@ -0,0 +1,19 @@
+package Bots;
+
+import Domain.GameView;
+import Domain.Move;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * A bot that picks the next draw or buy move for the current player. One
+ * instance may play many games at once from different threads, so any
+ * randomness must come from the rng passed in (which is seeded per match).
+ */
+public interface Strategy {
+    Move chooseMove(GameView view, RandomGenerator rng);
+
+    default String getName() {
+        return getClass().getSimpleName();
+    }
+}
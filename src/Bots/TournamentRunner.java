@@ -0,0 +1,293 @@
+package Bots;
+
+import Domain.GameBoy;
+import Domain.GameView;
+import Domain.Move;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plays strategies against each other on in-memory two-player games and rates
+ * them with Elo. A match is a series of game pairs, each pair played on the
+ * same seeded deck with seats swapped so first-player advantage cancels out.
+ * Every pair is its own task on a work-stealing ForkJoinPool, so one long
+ * match does not hold up the rest. A game depends only on its seed and the two
+ * strategies, so any result can be replayed with {@link #playGame}.
+ *
+ * Usage: TournamentRunner [-games N] [-seed S] [-swiss ROUNDS] [strategyClass ...]
+ *        TournamentRunner -replay SEED firstStrategyClass secondStrategyClass
+ */
+public class TournamentRunner {
+    /** A game still running after this many moves is scored on VP. */
+    public static final int MAX_MOVES = 1000;
+    private static final double ELO_K = 16;
+    private static final long STANDINGS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /** Outcome of one game, seen from the seat that moved first. */
+    public static final class GameResult {
+        public final long seed;
+        public final int firstVP;
+        public final int secondVP;
+        /** Seat (0 or 1) that made an illegal move and forfeited, or -1. */
+        public final int forfeitSeat;
+        public final int moves;
+
+        GameResult(long seed, int firstVP, int secondVP, int forfeitSeat, int moves) {
+            this.seed = seed;
+            this.firstVP = firstVP;
+            this.secondVP = secondVP;
+            this.forfeitSeat = forfeitSeat;
+            this.moves = moves;
+        }
+
+        /** 1 if the first seat won, 0.5 for a draw, 0 if it lost. */
+        public double firstSeatScore() {
+            if (forfeitSeat >= 0) return forfeitSeat == 0 ? 0 : 1;
+            return firstVP > secondVP ? 1 : firstVP < secondVP ? 0 : 0.5;
+        }
+    }
+
+    // one pairing: `games` seat-swapped game pairs between strategies a and b
+    private static final class Match {
+        final int a;
+        final int b;
+        final long[] gameSeeds;
+        final GameResult[] aFirst;
+        final GameResult[] bFirst;
+        final List<ForkJoinTask<?>> pairs = new ArrayList<>();
+
+        Match(int a, int b, long seed, int games) {
+            this.a = a;
+            this.b = b;
+            this.gameSeeds = new long[games];
+            SplittableRandom seeds = new SplittableRandom(seed);
+            for (int g = 0; g < games; g++) gameSeeds[g] = seeds.nextLong();
+            this.aFirst = new GameResult[games];
+            this.bFirst = new GameResult[games];
+        }
+    }
+
+    private final List<Strategy> strategies;
+    private final long seed;
+    private final int gamesPerMatch;
+    private final ForkJoinPool pool;
+    private final EloRatings ratings;
+    private final List<Match> played = new ArrayList<>();
+    private long lastStandings;
+
+    public TournamentRunner(List<Strategy> strategies, long seed, int gamesPerMatch, int parallelism) {
+        this.strategies = strategies;
+        this.seed = seed;
+        this.gamesPerMatch = Math.max(1, gamesPerMatch);
+        this.pool = new ForkJoinPool(Math.max(1, parallelism));
+        this.ratings = new EloRatings(strategies.size(), ELO_K);
+    }
+
+    public EloRatings getRatings() { return ratings; }
+
+    /**
+     * Play one game between two strategies on the deck for this seed. When log is
+     * non-null every move is appended to it.
+     */
+    public static GameResult playGame(Strategy first, Strategy second, long seed, List<String> log) {
+        GameBoy game = new GameBoy(2);
+        game.newGame(seed);
+        GameView view = game.view();
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] rngs = {root.split(), root.split()};
+        Strategy[] seats = {first, second};
+        int moves = 0;
+        int forfeit = -1;
+        while (!game.gameOver() && moves < MAX_MOVES) {
+            int seat = view.getCurrentPlayerIndex();
+            Move move = seats[seat].chooseMove(view, rngs[seat]);
+            boolean ok = move != null && game.makeMove(move);
+            moves++;
+            if (log != null) log.add(seats[seat].getName() + " (seat " + seat + "): " + move + (ok ? "" : " ILLEGAL"));
+            if (!ok) {
+                forfeit = seat;
+                break;
+            }
+        }
+        return new GameResult(seed, game.getPlayers().get(0).getTotalVP(),
+                game.getPlayers().get(1).getTotalVP(), forfeit, moves);
+    }
+
+    // forks one task per game pair; each task writes only its own slots
+    private Match startMatch(int a, int b, long matchSeed) {
+        Match m = new Match(a, b, matchSeed, gamesPerMatch);
+        for (int g = 0; g < gamesPerMatch; g++) {
+            int game = g;
+            m.pairs.add(pool.submit(() -> {
+                m.aFirst[game] = playGame(strategies.get(a), strategies.get(b), m.gameSeeds[game], null);
+                m.bFirst[game] = playGame(strategies.get(b), strategies.get(a), m.gameSeeds[game], null);
+            }));
+        }
+        return m;
+    }
+
+    private Match join(Match m) {
+        for (ForkJoinTask<?> pair : m.pairs) pair.join();
+        return m;
+    }
+
+    private void record(Match m) {
+        for (int g = 0; g < gamesPerMatch; g++) {
+            ratings.record(m.a, m.b, m.aFirst[g].firstSeatScore());
+            ratings.record(m.a, m.b, 1 - m.bFirst[g].firstSeatScore());
+        }
+        played.add(m);
+    }
+
+    // seed for a pairing, derived from the tournament seed so reruns pick the same decks
+    private long matchSeed(int round, int a, int b) {
+        long h = seed;
+        for (long part : new long[]{round, a, b}) h = new SplittableRandom(h ^ part).nextLong();
+        return h;
+    }
+
+    /**
+     * Every strategy plays every other. Results are applied to the ratings in
+     * pairing order (Elo is order-dependent, so this keeps reruns identical);
+     * standings are streamed as that prefix grows while later matches run.
+     */
+    public void runRoundRobin() {
+        List<Match> matches = new ArrayList<>();
+        for (int a = 0; a < strategies.size(); a++) {
+            for (int b = a + 1; b < strategies.size(); b++) matches.add(startMatch(a, b, matchSeed(0, a, b)));
+        }
+        for (int i = 0; i < matches.size(); i++) {
+            record(join(matches.get(i)));
+            maybePrintStandings(i + 1, matches.size());
+        }
+    }
+
+    /**
+     * Swiss system: each round pairs strategies of similar rating that have not
+     * met yet. A round's results are applied in pairing order once it finishes,
+     * so the pairings of later rounds are deterministic too.
+     */
+    public void runSwiss(int rounds) {
+        boolean[][] met = new boolean[strategies.size()][strategies.size()];
+        for (int round = 1; round <= rounds; round++) {
+            Integer[] order = ratings.ranking();
+            boolean[] paired = new boolean[order.length];
+            List<Match> matches = new ArrayList<>();
+            for (int i = 0; i < order.length; i++) {
+                if (paired[i]) continue;
+                int opponent = -1;
+                for (int j = i + 1; j < order.length; j++) {
+                    if (paired[j]) continue;
+                    if (opponent < 0) opponent = j; // fallback: rematch the closest rating
+                    if (!met[order[i]][order[j]]) {
+                        opponent = j;
+                        break;
+                    }
+                }
+                if (opponent < 0) break; // odd one out gets a bye
+                paired[i] = paired[opponent] = true;
+                int a = order[i];
+                int b = order[opponent];
+                met[a][b] = met[b][a] = true;
+                matches.add(startMatch(a, b, matchSeed(round, a, b)));
+            }
+            for (Match m : matches) record(join(m));
+            System.out.println("-- after round " + round + " of " + rounds);
+            printStandings();
+        }
+    }
+
+    private void maybePrintStandings(int finished, int total) {
+        long now = System.nanoTime();
+        if (finished < total && now - lastStandings < STANDINGS_INTERVAL_NANOS) return;
+        lastStandings = now;
+        System.out.println("-- " + finished + "/" + total + " matches");
+        printStandings();
+    }
+
+    public void printStandings() {
+        Integer[] order = ratings.ranking();
+        for (int rank = 0; rank < order.length; rank++) {
+            int i = order[rank];
+            System.out.printf("%3d. %-24s %7.1f  %d-%d-%d%n", rank + 1, strategies.get(i).getName(),
+                    ratings.getRating(i), ratings.getWins(i), ratings.getDraws(i), ratings.getLosses(i));
+        }
+    }
+
+    /** Print games the lower-rated strategy won, with the seed needed to replay them. */
+    public void printUpsets(int limit) {
+        int shown = 0;
+        for (Match m : played) {
+            for (int g = 0; g < gamesPerMatch && shown < limit; g++) {
+                shown += printIfUpset(m.a, m.b, m.aFirst[g]);
+                if (shown < limit) shown += printIfUpset(m.b, m.a, m.bFirst[g]);
+            }
+        }
+    }
+
+    private int printIfUpset(int first, int second, GameResult r) {
+        double s = r.firstSeatScore();
+        if (s == 0.5) return 0;
+        int winner = s > 0.5 ? first : second;
+        int loser = s > 0.5 ? second : first;
+        if (ratings.getRating(winner) >= ratings.getRating(loser)) return 0;
+        System.out.printf("upset: %s beat %s %d-%d, replay with -replay %d %s %s%n",
+                strategies.get(winner).getName(), strategies.get(loser).getName(),
+                Math.max(r.firstVP, r.secondVP), Math.min(r.firstVP, r.secondVP), r.seed,
+                strategies.get(first).getClass().getName(), strategies.get(second).getClass().getName());
+        return 1;
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private static Strategy load(String className) throws Exception {
+        return (Strategy) Class.forName(className).getDeclaredConstructor().newInstance();
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 4 && args[0].equals("-replay")) {
+            List<String> log = new ArrayList<>();
+            GameResult r = playGame(load(args[2]), load(args[3]), Long.parseLong(args[1]), log);
+            log.forEach(System.out::println);
+            System.out.println("final VP " + r.firstVP + "-" + r.secondVP + " after " + r.moves + " moves"
+                    + (r.forfeitSeat >= 0 ? ", seat " + r.forfeitSeat + " forfeited" : ""));
+            return;
+        }
+
+        int games = 50;
+        long seed = 374L;
+        int swissRounds = 0;
+        List<Strategy> strategies = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-games": games = Integer.parseInt(args[++i]); break;
+                case "-seed": seed = Long.parseLong(args[++i]); break;
+                case "-swiss": swissRounds = Integer.parseInt(args[++i]); break;
+                default: strategies.add(load(args[i]));
+            }
+        }
+        if (strategies.isEmpty()) {
+            strategies.add(new RandomStrategy());
+            strategies.add(new GreedyStrategy());
+        }
+
+        TournamentRunner runner = new TournamentRunner(strategies, seed, games,
+                Runtime.getRuntime().availableProcessors());
+        long start = System.nanoTime();
+        try {
+            if (swissRounds > 0) runner.runSwiss(swissRounds);
+            else runner.runRoundRobin();
+        } finally {
+            runner.shutdown();
+        }
+        System.out.printf("finished in %.2fs%n", (System.nanoTime() - start) / 1e9);
+        runner.printUpsets(5);
+    }
+}
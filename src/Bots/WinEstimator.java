@@ -0,0 +1,242 @@
+package Bots;
+
+import Domain.GameBoy;
+import Domain.GameView;
+import Domain.Move;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Background Monte Carlo estimate of each player's win probability, plus the
+ * best card for the current player to buy. {@link #restart} hands it a private
+ * copy of the game after every move; the previous position's rollouts are
+ * cancelled right away and new ones refine the estimate until MAX_ROLLOUTS.
+ * Updates are pushed through the given executor (the EDT for the UI) at most
+ * once per UPDATE_INTERVAL_MS.
+ */
+public class WinEstimator {
+    public static final int MAX_ROLLOUTS = 20_000;
+    private static final long UPDATE_INTERVAL_MS = 200;
+    private static final int ROLLOUT_MOVE_LIMIT = TournamentRunner.MAX_MOVES;
+    private static final int BATCH = 64;
+
+    private static final Strategy RANDOM = new RandomStrategy();
+    private static final GreedyStrategy GREEDY = new GreedyStrategy();
+    // mostly greedy play with some noise, so rollouts from one position do not all end the same way
+    private static final Strategy ROLLOUT_POLICY = (view, rng) ->
+            rng.nextDouble() < 0.25 ? RANDOM.chooseMove(view, rng) : GREEDY.chooseMove(view, rng);
+
+    /** Immutable estimate for one position. */
+    public static final class Estimate {
+        public final long generation;
+        public final long rollouts;
+        /** Win probability per player index (ties count as a shared win). */
+        public final double[] winProbability;
+        /** Card index the current player should buy, or -1 when no buy beats drawing (or none is possible). */
+        public final int bestBuy;
+        /** Current player's win rate after the hinted action (buying bestBuy, or drawing). */
+        public final double bestWinRate;
+
+        Estimate(long generation, long rollouts, double[] winProbability, int bestBuy, double bestWinRate) {
+            this.generation = generation;
+            this.rollouts = rollouts;
+            this.winProbability = winProbability;
+            this.bestBuy = bestBuy;
+            this.bestWinRate = bestWinRate;
+        }
+    }
+
+    // accumulators for one position; replaced wholesale on restart
+    private static final class Position {
+        final long generation;
+        final GameBoy game;
+        final int mover;
+        // candidate first actions: card indices to buy, with -1 meaning "draw chips this turn"
+        final int[] candidates;
+        final LongAdder rollouts = new LongAdder();
+        final DoubleAdder[] wins;
+        final LongAdder[] candidateTries;
+        final DoubleAdder[] candidateWins;
+
+        Position(long generation, GameBoy game) {
+            this.generation = generation;
+            this.game = game;
+            GameView view = game.view();
+            this.mover = view.getCurrentPlayerIndex();
+            List<Integer> c = new ArrayList<>();
+            c.add(-1);
+            for (int i = 0; i < view.getCards().size(); i++) if (view.canBuy(i)) c.add(i);
+            this.candidates = c.stream().mapToInt(Integer::intValue).toArray();
+            this.wins = new DoubleAdder[view.getPlayerCount()];
+            for (int i = 0; i < wins.length; i++) wins[i] = new DoubleAdder();
+            this.candidateTries = new LongAdder[candidates.length];
+            this.candidateWins = new DoubleAdder[candidates.length];
+            for (int i = 0; i < candidates.length; i++) {
+                candidateTries[i] = new LongAdder();
+                candidateWins[i] = new DoubleAdder();
+            }
+        }
+    }
+
+    private final ThreadPoolExecutor pool;
+    private final int workers;
+    private final Consumer<Estimate> listener;
+    private final Executor callbackExecutor;
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicReference<Position> current = new AtomicReference<>();
+    private final AtomicLong lastPush = new AtomicLong();
+    private final List<Future<?>> running = new ArrayList<>();
+
+    /**
+     * @param workers          number of rollout threads (bounded; they are low-priority daemons)
+     * @param listener         receives throttled estimates
+     * @param callbackExecutor where the listener runs, e.g. SwingUtilities::invokeLater
+     */
+    public WinEstimator(int workers, Consumer<Estimate> listener, Executor callbackExecutor) {
+        this.workers = Math.max(1, workers);
+        this.listener = listener;
+        this.callbackExecutor = callbackExecutor;
+        this.pool = new ThreadPoolExecutor(this.workers, this.workers, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, "win-estimator");
+                    t.setDaemon(true);
+                    t.setPriority(Thread.MIN_PRIORITY);
+                    return t;
+                });
+    }
+
+    /**
+     * Start estimating a new position. The game must be a private copy (see
+     * GameBoy.copy()); it is only read from here on. Returns immediately:
+     * true if estimates will follow, false if there is nothing to estimate
+     * (no players, or the game is over).
+     */
+    public synchronized boolean restart(GameBoy snapshot) {
+        stop();
+        if (snapshot.getPlayers().isEmpty() || snapshot.gameOver()) return false;
+        Position pos = new Position(generation.get(), snapshot);
+        current.set(pos);
+        SplittableRandom seeds = new SplittableRandom(System.nanoTime());
+        for (int w = 0; w < workers; w++) {
+            SplittableRandom rng = seeds.split();
+            int first = w;
+            running.add(pool.submit(() -> work(pos, rng, first)));
+        }
+        return true;
+    }
+
+    /** Cancel any work on the current position; estimates already queued are marked stale. */
+    public synchronized void stop() {
+        generation.incrementAndGet();
+        current.set(null);
+        for (Future<?> f : running) f.cancel(true);
+        running.clear();
+    }
+
+    /** True if the estimate is for the latest position, i.e. not overtaken by a later move. */
+    public boolean isCurrent(Estimate e) {
+        return e.generation == generation.get();
+    }
+
+    public void shutdown() {
+        stop();
+        pool.shutdownNow();
+    }
+
+    private void work(Position pos, SplittableRandom rng, int candidateOffset) {
+        int next = candidateOffset;
+        while (!isStale(pos)) {
+            for (int i = 0; i < BATCH; i++) {
+                int c = next++ % pos.candidates.length;
+                double[] score = rollout(pos, pos.candidates[c], rng);
+                if (score == null) return; // position was replaced mid-rollout
+                for (int p = 0; p < score.length; p++) pos.wins[p].add(score[p]);
+                pos.candidateTries[c].increment();
+                pos.candidateWins[c].add(score[pos.mover]);
+                pos.rollouts.increment();
+            }
+            boolean finished = pos.rollouts.sum() >= MAX_ROLLOUTS;
+            maybePush(pos, finished);
+            if (finished) return;
+        }
+    }
+
+    // true once restart/stop replaced the position or the worker was cancelled
+    private boolean isStale(Position pos) {
+        return current.get() != pos || Thread.currentThread().isInterrupted();
+    }
+
+    // play one game to the end from the position; returns each player's share of
+    // the win, or null if the position went stale, which is checked every move
+    private double[] rollout(Position pos, int firstBuy, SplittableRandom rng) {
+        GameBoy game = pos.game.copy();
+        GameView view = game.view();
+        if (firstBuy >= 0) {
+            game.makeMove(Move.buy(firstBuy));
+        } else {
+            // the draw candidate: draw toward the greedy target until the turn passes
+            do {
+                Move draw = GREEDY.drawMove(view, rng);
+                if (draw == null || !game.makeMove(draw)) break;
+            } while (view.isChipDrawn());
+        }
+        for (int moves = 0; !game.gameOver() && moves < ROLLOUT_MOVE_LIMIT; moves++) {
+            if (isStale(pos)) return null;
+            if (!game.makeMove(ROLLOUT_POLICY.chooseMove(view, rng))) break;
+        }
+        int n = view.getPlayerCount();
+        int best = Integer.MIN_VALUE;
+        int leaders = 0;
+        for (int p = 0; p < n; p++) {
+            int vp = view.getVP(p);
+            if (vp > best) {
+                best = vp;
+                leaders = 1;
+            } else if (vp == best) {
+                leaders++;
+            }
+        }
+        double[] score = new double[n];
+        for (int p = 0; p < n; p++) if (view.getVP(p) == best) score[p] = 1.0 / leaders;
+        return score;
+    }
+
+    private void maybePush(Position pos, boolean force) {
+        long now = System.currentTimeMillis();
+        long last = lastPush.get();
+        if (!force && now - last < UPDATE_INTERVAL_MS) return;
+        if (!lastPush.compareAndSet(last, now) && !force) return;
+        Estimate e = estimate(pos);
+        callbackExecutor.execute(() -> listener.accept(e));
+    }
+
+    private static Estimate estimate(Position pos) {
+        long total = Math.max(1, pos.rollouts.sum());
+        double[] win = new double[pos.wins.length];
+        for (int p = 0; p < win.length; p++) win[p] = pos.wins[p].sum() / total;
+        int bestBuy = -1;
+        double bestRate = -1;
+        for (int c = 0; c < pos.candidates.length; c++) {
+            long tries = pos.candidateTries[c].sum();
+            if (tries == 0) continue;
+            double rate = pos.candidateWins[c].sum() / tries;
+            if (rate > bestRate) {
+                bestRate = rate;
+                bestBuy = pos.candidates[c];
+            }
+        }
+        return new Estimate(pos.generation, total, win, bestBuy, Math.max(0, bestRate));
+    }
+}
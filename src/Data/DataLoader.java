@@ -3,19 +3,45 @@ package Data;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 /** Simple data loader that reads the JSON file as a string. */
 public class DataLoader {
+    // one background thread for all saveGameAsync writes
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "save-writer");
+        t.setDaemon(true);
+        return t;
+    });
+
     private final Path dbPath;
+    // latest state handed to saveGameAsync and not written yet
+    private final AtomicReference<String> pending = new AtomicReference<>();
+    private final Object writeLock = new Object();
+    private final AtomicBoolean flushOnExit = new AtomicBoolean();
 
     public DataLoader() {
         // database.json lives in src/ (project root: csse374-hw2/src/database.json)
         this.dbPath = Paths.get("src", "database.json");
     }
 
+    /** Loader for a specific file; a null path keeps the game in memory only (used by simulations). */
+    public DataLoader(Path dbPath) {
+        this.dbPath = dbPath;
+    }
+
+    /** False for an in-memory loader, so callers can skip building JSON nobody will write. */
+    public boolean persists() {
+        return dbPath != null;
+    }
+
     public String loadprevGame() {
+        flush();
         try {
-            if (!Files.exists(dbPath)) {
+            if (dbPath == null || !Files.exists(dbPath)) {
                 // fallback to project-root path
                 return "";
             }
@@ -27,6 +53,36 @@ public class DataLoader {
     }
 
     public void saveGame(String json) {
+        if (dbPath == null) return;
+        synchronized (writeLock) {
+            // anything still pending is older than this state
+            pending.set(null);
+            write(json);
+        }
+    }
+
+    /**
+     * Save without waiting for the disk: the write happens on a background
+     * thread. If several states queue up before it runs, only the latest is
+     * written. Loads, later saveGame calls and JVM exit all flush it first.
+     */
+    public void saveGameAsync(String json) {
+        if (dbPath == null) return;
+        if (flushOnExit.compareAndSet(false, true)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "save-flush"));
+        }
+        if (pending.getAndSet(json) == null) WRITER.execute(this::flush);
+    }
+
+    /** Write the state queued by saveGameAsync, if any, before returning. */
+    public void flush() {
+        synchronized (writeLock) {
+            String json = pending.getAndSet(null);
+            if (json != null) write(json);
+        }
+    }
+
+    private void write(String json) {
         try {
             Files.write(dbPath, json.getBytes());
         } catch (Exception e) {
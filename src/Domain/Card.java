@@ -7,6 +7,9 @@ import java.util.Map;
  * Simple Card model (victoryPoints and cost string like "1B2W").
  */
 public class Card {
+    /** Chip colors in the order used for cost vectors and saved state. */
+    public static final char[] COLORS = {'R', 'B', 'G', 'K', 'W'};
+
     public int id;
     private int victoryPoints;
     private String cost; // format example: "1B2W" meaning 1 Blue, 2 White
@@ -45,6 +48,18 @@ public class Card {
         return m;
     }
 
+    /** Index of a color in {@link #COLORS}, or -1 for an unknown color. */
+    public static int colorIndex(char color) {
+        switch (Character.toUpperCase(color)) {
+            case 'R': return 0;
+            case 'B': return 1;
+            case 'G': return 2;
+            case 'K': return 3;
+            case 'W': return 4;
+            default: return -1;
+        }
+    }
+
     @Override
     public String toString() {
         return "Card[vp=" + victoryPoints + ", cost=" + cost + "]";
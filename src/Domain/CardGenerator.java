@@ -0,0 +1,122 @@
+package Domain;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Random card generation on primitive cost vectors. Shared by GameBoy and the
+ * balance analyzer so both see exactly the same cost distribution.
+ */
+public final class CardGenerator {
+    public static final int DECK_SIZE = 15;
+    /** Highest total cost a generated card can have (three colors at 3). */
+    public static final int MAX_TOTAL_COST = 9;
+    /** Number of distinct cost keys (4 token counts for each of the 5 colors). */
+    public static final int COST_KEYS = 1 << (2 * Card.COLORS.length);
+    private static final int COST_KEY_BITS = 2 * Card.COLORS.length;
+    // cost string for every cost key, so unpacking a deck builds no strings
+    private static final String[] COST_STRINGS = new String[COST_KEYS];
+
+    static {
+        int[] costs = new int[Card.COLORS.length];
+        for (int k = 0; k < COST_KEYS; k++) {
+            unpackCost(k, costs);
+            COST_STRINGS[k] = costString(costs);
+        }
+    }
+
+    private CardGenerator() {}
+
+    /**
+     * Draw a random card cost packed as a cost key (2 bits per color, see
+     * {@link #costKey}): 1-3 distinct colors, one of them 2-3 tokens and the
+     * others 0-3 tokens.
+     */
+    public static int randomCostKey(RandomGenerator rand) {
+        int numColors = 1 + rand.nextInt(3); // 1, 2, or 3 colors
+        // selected color indices packed 3 bits each, in pick order
+        int selected = 0;
+        int usedMask = 0;
+        for (int n = 0; n < numColors; ) {
+            int color = rand.nextInt(Card.COLORS.length);
+            if ((usedMask & (1 << color)) == 0) {
+                usedMask |= 1 << color;
+                selected |= color << (3 * n);
+                n++;
+            }
+        }
+        int minIdx = rand.nextInt(numColors);
+        int key = 0;
+        for (int j = 0; j < numColors; j++) {
+            int color = (selected >>> (3 * j)) & 7;
+            int cost = j == minIdx ? 2 + rand.nextInt(2) : rand.nextInt(4);
+            key |= cost << (2 * color);
+        }
+        return key;
+    }
+
+    /**
+     * True if randomCostKey can produce this key: at most 3 colors with a
+     * nonzero cost, and at least one of them at 2 or more.
+     */
+    public static boolean isPossibleCostKey(int key) {
+        int colors = 0;
+        int max = 0;
+        for (int c = 0; c < Card.COLORS.length; c++) {
+            int cost = (key >>> (2 * c)) & 3;
+            if (cost > 0) colors++;
+            max = Math.max(max, cost);
+        }
+        return colors <= 3 && max >= 2;
+    }
+
+    /** Pack a cost vector (each entry 0-3) into a cost key, 2 bits per color. */
+    public static int costKey(int[] costs) {
+        int key = 0;
+        for (int c = 0; c < costs.length; c++) key |= costs[c] << (2 * c);
+        return key;
+    }
+
+    public static void unpackCost(int key, int[] costs) {
+        for (int c = 0; c < costs.length; c++) costs[c] = (key >>> (2 * c)) & 3;
+    }
+
+    /** Cost string like "1B2W" for a cost vector, colors in Card.COLORS order. */
+    public static String costString(int[] costs) {
+        StringBuilder sb = new StringBuilder(8);
+        for (int j = 0; j < costs.length; j++) {
+            if (costs[j] > 0) sb.append(costs[j]).append(Card.COLORS[j]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Generate a deck of DECK_SIZE cards packed one int per card (see
+     * {@link #packCard}). The deck depends only on the seed and the formula.
+     */
+    public static int[] randomPackedDeck(long seed, VpFormula formula) {
+        java.util.SplittableRandom rand = new java.util.SplittableRandom(seed);
+        int[] deck = new int[DECK_SIZE];
+        int[] costs = new int[Card.COLORS.length];
+        for (int i = 0; i < DECK_SIZE; i++) {
+            int key = randomCostKey(rand);
+            unpackCost(key, costs);
+            deck[i] = packCard(formula.victoryPoints(costs), key);
+        }
+        return deck;
+    }
+
+    /** A card as one int: VP in the high bits, cost key in the low 10 bits. */
+    public static int packCard(int vp, int costKey) {
+        return vp << COST_KEY_BITS | costKey;
+    }
+
+    /** Cards for a packed deck, with ids 0..n-1 in deck order. */
+    public static java.util.List<Card> unpackDeck(int[] packed) {
+        java.util.List<Card> deck = new java.util.ArrayList<>(packed.length);
+        for (int i = 0; i < packed.length; i++) {
+            int key = packed[i] & (COST_KEYS - 1);
+            deck.add(new Card(packed[i] >>> COST_KEY_BITS, COST_STRINGS[key], i));
+        }
+        return deck;
+    }
+}
@@ -0,0 +1,104 @@
+package Domain;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded pool of ready-made decks, filled by a background thread so that
+ * GameBoy.newGame() only has to take one. Each deck is generated from its own
+ * seed (drawn from the pool's root seed), so any dealt deck can be reproduced
+ * with GameBoy.newGame(seed). The producer blocks while the pool is full and
+ * refills as decks are taken.
+ */
+public class DeckPool {
+    /** A deck as its seed plus one packed int per card (see CardGenerator.packCard). */
+    public static final class PackedDeck {
+        public final long seed;
+        private final int[] cards;
+
+        private PackedDeck(long seed, int[] cards) {
+            this.seed = seed;
+            this.cards = cards;
+        }
+
+        public static PackedDeck generate(long seed) {
+            return new PackedDeck(seed, CardGenerator.randomPackedDeck(seed, VpFormula.DEFAULT));
+        }
+
+        public List<Card> toCards() {
+            return CardGenerator.unpackDeck(cards);
+        }
+    }
+
+    private final ArrayBlockingQueue<PackedDeck> ready;
+    private final Thread producer;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder generated = new LongAdder();
+    private final LongAdder generationNanos = new LongAdder();
+
+    /** Start a pool holding up to capacity decks, with deck seeds derived from rootSeed. */
+    public DeckPool(int capacity, long rootSeed) {
+        this.ready = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        SplittableRandom seeds = new SplittableRandom(rootSeed);
+        this.producer = new Thread(() -> produce(seeds), "deck-pool");
+        producer.setDaemon(true);
+        producer.start();
+    }
+
+    private void produce(SplittableRandom seeds) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                long start = System.nanoTime();
+                PackedDeck deck = PackedDeck.generate(seeds.nextLong());
+                generationNanos.add(System.nanoTime() - start);
+                generated.increment();
+                ready.put(deck); // back-pressure: waits while the pool is full
+            }
+        } catch (InterruptedException e) {
+            // shutdown
+        }
+    }
+
+    /** A ready deck, or null if the pool is empty right now. Never blocks. */
+    public PackedDeck poll() {
+        PackedDeck d = ready.poll();
+        if (d == null) misses.increment();
+        else hits.increment();
+        return d;
+    }
+
+    public void shutdown() {
+        producer.interrupt();
+    }
+
+    public int getReady() { return ready.size(); }
+
+    public long getHits() { return hits.sum(); }
+
+    public long getMisses() { return misses.sum(); }
+
+    /** Share of poll() calls that got a deck, 0 if never polled. */
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    public long getDecksGenerated() { return generated.sum(); }
+
+    /** Decks generated per second of producer time spent generating. */
+    public double getGenerationThroughput() {
+        long nanos = generationNanos.sum();
+        return nanos == 0 ? 0 : generated.sum() / (nanos / 1e9);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DeckPool[ready=%d, hitRate=%.1f%%, hits=%d, misses=%d, generated=%d, %.0f decks/s]",
+                getReady(), 100 * getHitRate(), getHits(), getMisses(), getDecksGenerated(),
+                getGenerationThroughput());
+    }
+}
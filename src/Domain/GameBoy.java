@@ -13,6 +13,8 @@ import java.util.regex.Pattern;
  * database.json (very forgiving parsing) and provides simple moves.
  */
 public class GameBoy {
+    public static final int WINNING_VP = 15;
+
     private List<Card> cards = new ArrayList<>();
     private List<Player> players = new ArrayList<>();
     private Player currPlayer;
@@ -20,13 +22,74 @@ public class GameBoy {
     private Map<Character, Integer> currChips = new java.util.HashMap<>();
     private boolean chipDrawn = false;
     private DataLoader dataLoader = new DataLoader();
+    // player with the most VP (ties go to the lowest seat), kept up to date by vpChanged
+    private Player leader;
+    private Leaderboard leaderboard;
+    private String gameId;
+    private List<String> playerIds;
+    private int gamesStarted = 0;
+    private boolean resultRecorded = false;
+    private DeckPool deckPool;
+    private Long deckSeed;
+    private final VpListener vpTracker = this::vpChanged;
 
     public List<Player> getPlayers() { return players; }
     public List<Card> getCards() { return cards; }
 //    public int getCurrentPlayerIndex() { return currentPlayerIndex; }
 
+    public GameBoy() {
+    }
+
+    /**
+     * In-memory game with numPlayers fresh players, used by bots and simulations.
+     * Nothing is read from or written to database.json.
+     */
+    public GameBoy(int numPlayers) {
+        dataLoader = new DataLoader(null);
+        for (int i = 0; i < numPlayers; i++) addPlayer(new Player("Player" + (i + 1)));
+        if (!players.isEmpty()) currPlayer = players.get(0);
+    }
+
     public void newGame() {
-        // reset players' chips and VP, reset current turn, generate random cards
+        // take a ready deck from the pool; only generate inline if there is none
+        DeckPool.PackedDeck deck = deckPool == null ? null : deckPool.poll();
+        if (deck == null) deck = DeckPool.PackedDeck.generate(java.util.concurrent.ThreadLocalRandom.current().nextLong());
+        startGame(deck);
+    }
+
+    /** Start a new game whose deck is fully determined by the seed. */
+    public void newGame(long seed) {
+        startGame(DeckPool.PackedDeck.generate(seed));
+    }
+
+    private void startGame(DeckPool.PackedDeck deck) {
+        resetPlayersAndTurn();
+        cards.clear();
+        cards.addAll(deck.toCards());
+        deckSeed = deck.seed;
+        // the first save of a game is written in the background so newGame() never waits on disk
+        saveGameState(true);
+        publishVP();
+    }
+
+    /** Use pre-generated decks from this pool for newGame(); null goes back to generating inline. */
+    public void setDeckPool(DeckPool deckPool) {
+        this.deckPool = deckPool;
+    }
+
+    /**
+     * Seed of the current deck; newGame(seed) with it deals the same cards again.
+     * Null if the deck came from loadGame() and its seed is unknown.
+     */
+    public Long getDeckSeed() {
+        return deckSeed;
+    }
+
+    private void resetPlayersAndTurn() {
+        // a new game gets its own leaderboard keys, so the finished one stays listed
+        gamesStarted++;
+        resultRecorded = false;
+        // reset players' chips and VP, reset current turn
         for (Player p : players) {
             p.resetChips();
             p.resetVP();
@@ -34,59 +97,31 @@ public class GameBoy {
         currentPlayerIndex = 0;
         currPlayer = players.isEmpty() ? null : players.get(0);
         currChips.clear();
-        generateRandomCards();
-        saveGameState();
+        chipDrawn = false;
     }
 
-    private void generateRandomCards() {
-        cards.clear();
-        java.util.Random rand = new java.util.Random();
-        String[] colors = {"R", "B", "G", "K", "W"};
-        for (int i = 0; i < 15; i++) {
-            // pick 1-3 colors for this card
-            int numColors = 1 + rand.nextInt(3); // 1, 2, or 3 colors
-            java.util.List<String> selectedColors = new java.util.ArrayList<>();
-            while (selectedColors.size() < numColors) {
-                String color = colors[rand.nextInt(colors.length)];
-                if (!selectedColors.contains(color)) {
-                    selectedColors.add(color);
-                }
-            }
-            
-            // generate costs: each color gets 0-3 tokens, but at least one color must have 2+
-            StringBuilder cost = new StringBuilder();
-            int[] costs = new int[selectedColors.size()];
-            int minIdx = rand.nextInt(selectedColors.size());
-            costs[minIdx] = 2 + rand.nextInt(2); // ensure at least one color has 2-3 tokens
-            for (int j = 0; j < costs.length; j++) {
-                if (j != minIdx) {
-                    costs[j] = rand.nextInt(4); // 0-3 tokens
-                }
-            }
-            
-            // build cost string
-            for (int j = 0; j < selectedColors.size(); j++) {
-                if (costs[j] > 0) {
-                    cost.append(costs[j]).append(selectedColors.get(j));
-                }
-            }
-            
-            // calculate VP based on total cost and concentration
-            // higher total cost = harder; repeated high amounts of one color = harder
-            int totalCost = 0;
-            int maxSingleColor = 0;
-            for (int c : costs) {
-                totalCost += c;
-                maxSingleColor = Math.max(maxSingleColor, c);
-            }
-            // VP = base (from total cost) + bonus (for concentration in one color)
-            // concentration bonus: each point above 2 of a single color adds VP
-            int baseCost = totalCost / 3; // scale down for wider range
-            int concentrationBonus = Math.max(0, maxSingleColor - 2);
-            int vp = 1 + baseCost + concentrationBonus;
-            
-            cards.add(new Card(vp, cost.toString(), i));
+    /**
+     * Independent in-memory copy of the current state (players, cards and the
+     * turn in progress). Moves on the copy never touch this game or the save file.
+     */
+    public GameBoy copy() {
+        GameBoy g = new GameBoy(0);
+        for (Player p : players) {
+            Player c = new Player(p.getName());
+            g.addPlayer(c);
+            c.restore(p.getTotalVP(), p.getChips());
         }
+        g.cards.addAll(cards);
+        g.currentPlayerIndex = currentPlayerIndex;
+        g.currPlayer = g.players.isEmpty() ? null : g.players.get(currentPlayerIndex);
+        g.currChips.putAll(currChips);
+        g.chipDrawn = chipDrawn;
+        return g;
+    }
+
+    /** Read-only view of this game for strategies; reflects later moves. */
+    public GameView view() {
+        return new GameView(this);
     }
 
     public void loadGame() {
@@ -108,12 +143,22 @@ public class GameBoy {
         // Very small ad-hoc JSON parsing tailored to the repo's database.json
         parsePlayers(json);
         parseCards(json);
+        deckSeed = null;
         // System.out.println(this);
-        if (!players.isEmpty()) currPlayer = players.get(0);
+        // the save has no turn state, so a loaded game starts at seat 0 with a fresh turn
+        currentPlayerIndex = 0;
+        currPlayer = players.isEmpty() ? null : players.get(0);
+        currChips.clear();
+        chipDrawn = false;
+        // a loaded game is listed like a newly started one
+        gamesStarted++;
+        resultRecorded = false;
+        publishVP();
     }
 
     private void parsePlayers(String json) {
         players.clear();
+        leader = null;
         Pattern p = Pattern.compile("\"player\"\s*:\s*\\{(.*?)\\},\\s*\\\"cards\"", Pattern.DOTALL);
         Matcher m = p.matcher(json);
         if (!m.find()) return;
@@ -149,7 +194,7 @@ public class GameBoy {
             // Because Player currently only adds VP when buying, set directly via reflection-like workaround
             
             Player pl = new Player("Player" + (players.size() + 1), totalVP, initialChips);
-            players.add(pl);
+            addPlayer(pl);
         }
     }
 
@@ -212,18 +257,66 @@ public class GameBoy {
      * Player cannot both draw and buy in same turn.
      */
     public boolean makeMove(int movIndex, String move) {
+        boolean ok = applyMove(movIndex, move);
+        if (ok) {
+            saveGameState();
+            publishVP();
+            recordResultIfOver();
+        }
+        return ok;
+    }
+
+    /** perform a typed move, same rules as makeMove(int, String). */
+    public boolean makeMove(Move move) {
+        return makeMove(move.type, move.arg);
+    }
+
+    /**
+     * Apply a whole turn (or any sequence of moves) atomically: either every move
+     * is applied under the usual draw and buy rules, or the game is left exactly
+     * as it was. The game is saved once at the end instead of once per move.
+     * The result has one entry per move; the batch went through only if every
+     * entry is APPLIED.
+     */
+    public MoveResult[] makeMoves(List<Move> moves) {
+        MoveResult[] results = new MoveResult[moves.size()];
+        Snapshot before = new Snapshot();
+        int failed = -1;
+        for (int i = 0; i < moves.size(); i++) {
+            Move m = moves.get(i);
+            if (m == null || !applyMove(m.type, m.arg)) {
+                failed = i;
+                break;
+            }
+            results[i] = MoveResult.APPLIED;
+        }
+        if (failed < 0) {
+            if (!moves.isEmpty()) {
+                saveGameState();
+                publishVP();
+                recordResultIfOver();
+            }
+            return results;
+        }
+        before.restore();
+        for (int i = 0; i < results.length; i++) {
+            results[i] = i < failed ? MoveResult.ROLLED_BACK : i == failed ? MoveResult.REJECTED : MoveResult.SKIPPED;
+        }
+        return results;
+    }
+
+    // applies one move without saving; returns false (and changes nothing) if it is not allowed
+    private boolean applyMove(int movIndex, String move) {
         if (currPlayer == null) return false;
         if (move == null) return false;
         move = move.trim();
         if (movIndex == 1) { //(move.startsWith("draw:")) {
             // cannot draw if already bought this turn
-            System.out.print(move);
             String color = move;
+            if (color.isEmpty()) return false;
             char c = Character.toUpperCase(color.charAt(0));
             
-            // if we already have 2 different colors, cannot draw any more
-            // (valid draws are: 3 different colors OR 2 of same color, not mixed)
-            if (currChips.size() >= 2 && currChips.containsKey(c)) {
+            if (!canDraw(c)) {
                 return false;
             }
             
@@ -255,8 +348,6 @@ public class GameBoy {
                     // System.out.println("Turn ends after drawing chips");
                     nextTurn();
                 }
-                
-            saveGameState();
 
             return ok;
         } else if (movIndex == 2) { // (move.startsWith("buy:")) {
@@ -276,7 +367,6 @@ public class GameBoy {
                     cards.remove(idx);
                     // condition 3: card was bought, swap turn
                     nextTurn();
-                    saveGameState();
                 }
                 return ok;
             } catch (NumberFormatException e) {
@@ -289,6 +379,27 @@ public class GameBoy {
 
     public Player getCurrentPlayer() { return currPlayer; }
 
+    // if we already have 2 different colors, cannot draw any more of them
+    // (valid draws are: 3 different colors OR 2 of same color, not mixed)
+    boolean canDraw(char color) {
+        char c = Character.toUpperCase(color);
+        return !(currChips.size() >= 2 && currChips.containsKey(c));
+    }
+
+    int getCurrentPlayerIndex() { return currentPlayerIndex; }
+
+    boolean isChipDrawn() { return chipDrawn; }
+
+    int drawnThisTurn(char color) {
+        return currChips.getOrDefault(Character.toUpperCase(color), 0);
+    }
+
+    // a buy must be the only action of the turn
+    boolean canBuy(int idx) {
+        return currPlayer != null && !chipDrawn && idx >= 0 && idx < cards.size()
+                && currPlayer.canAfford(cards.get(idx));
+    }
+
     public void nextTurn() {
         if (players.size() > 0) {
             currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
@@ -299,8 +410,9 @@ public class GameBoy {
         }
     }
 
+    // O(1): only the leader can have reached WINNING_VP
     public boolean gameOver() {
-        for (Player p : players) if (p.getTotalVP() >= 15) return true;
+        if (leader != null && leader.getTotalVP() >= WINNING_VP) return true;
         return cards.isEmpty();
     }
     // Public helper so UI can check game-over state
@@ -308,16 +420,101 @@ public class GameBoy {
         return gameOver();
     }
 
-    // Determine winner: if a player has >= 15 VP, return them; otherwise return player with max VP (or null if no players)
+    // Determine winner: the player with the most VP, ties to the lowest seat (or null if no players)
     public Player getWinner() {
-        if (players.isEmpty()) return null;
-        for (Player p : players) if (p.getTotalVP() >= 15) return p;
-        Player best = players.get(0);
-        for (Player p : players) {
-            if (p.getTotalVP() > best.getTotalVP()) best = p;
+        return leader;
+    }
+
+    /** Same as setLeaderboard(leaderboard, gameId, null): players are identified by their names. */
+    public void setLeaderboard(Leaderboard leaderboard, String gameId) {
+        setLeaderboard(leaderboard, gameId, null);
+    }
+
+    /**
+     * Report this game's VP and result to a shared leaderboard. playerIds gives
+     * who sits in each seat (null, or a missing seat, falls back to the player's
+     * name, which is only the seat label). VP is keyed as "gameId#n/playerId",
+     * where n counts the games started on this board, and wins by playerId.
+     * Only committed moves are reported, and nothing until a game has been
+     * started or loaded. A game that ends tied on VP records no win.
+     */
+    public void setLeaderboard(Leaderboard leaderboard, String gameId, List<String> playerIds) {
+        this.leaderboard = leaderboard;
+        this.gameId = gameId;
+        this.playerIds = playerIds == null ? null : List.copyOf(playerIds);
+        publishVP();
+    }
+
+    // called on the commit paths only, so a rolled-back batch is never seen
+    private void publishVP() {
+        if (leaderboard == null || gamesStarted == 0) return;
+        for (int seat = 0; seat < players.size(); seat++) {
+            leaderboard.updateVP(gameId + "#" + gamesStarted + "/" + playerId(seat), players.get(seat).getTotalVP());
+        }
+    }
+
+    private String playerId(int seat) {
+        return playerIds != null && seat < playerIds.size() ? playerIds.get(seat) : players.get(seat).getName();
+    }
+
+    private void addPlayer(Player p) {
+        players.add(p);
+        p.setVpListener(vpTracker);
+        if (leader == null || p.getTotalVP() > leader.getTotalVP()) leader = p;
+    }
+
+    // more VP, or the same VP from a lower seat; indexOf only runs on a tie and there are few seats
+    private boolean outranks(Player p, Player q) {
+        if (p.getTotalVP() != q.getTotalVP()) return p.getTotalVP() > q.getTotalVP();
+        return players.indexOf(p) < players.indexOf(q);
+    }
+
+    private void vpChanged(Player p, int oldVP, int newVP) {
+        if (newVP >= oldVP) {
+            if (leader == null || outranks(p, leader)) leader = p;
+        } else if (p == leader) {
+            // VP only drops on a reset or an undone batch, so a full scan is fine here
+            leader = null;
+            for (Player q : players) if (leader == null || q.getTotalVP() > leader.getTotalVP()) leader = q;
+        }
+    }
+
+    private void recordResultIfOver() {
+        if (leaderboard == null || resultRecorded || !gameOver() || leader == null) return;
+        resultRecorded = true;
+        // getWinner() gives a tie to the lowest seat, but the wins table should not
+        for (Player p : players) if (p != leader && p.getTotalVP() == leader.getTotalVP()) return;
+        leaderboard.recordWin(playerId(players.indexOf(leader)));
+    }
+    // everything a batch of moves can change, so a failed batch can be undone
+    private class Snapshot {
+        private final List<Card> cards = new ArrayList<>(GameBoy.this.cards);
+        private final int[] vp = new int[players.size()];
+        private final List<Map<Character, Integer>> chips = new ArrayList<>();
+        private final int currentPlayerIndex = GameBoy.this.currentPlayerIndex;
+        private final Player currPlayer = GameBoy.this.currPlayer;
+        private final Map<Character, Integer> currChips = new java.util.HashMap<>(GameBoy.this.currChips);
+        private final boolean chipDrawn = GameBoy.this.chipDrawn;
+
+        Snapshot() {
+            for (int i = 0; i < players.size(); i++) {
+                vp[i] = players.get(i).getTotalVP();
+                chips.add(new java.util.HashMap<>(players.get(i).getChips()));
+            }
+        }
+
+        void restore() {
+            GameBoy.this.cards.clear();
+            GameBoy.this.cards.addAll(cards);
+            for (int i = 0; i < players.size(); i++) players.get(i).restore(vp[i], chips.get(i));
+            GameBoy.this.currentPlayerIndex = currentPlayerIndex;
+            GameBoy.this.currPlayer = currPlayer;
+            GameBoy.this.currChips.clear();
+            GameBoy.this.currChips.putAll(currChips);
+            GameBoy.this.chipDrawn = chipDrawn;
         }
-        return best;
     }
+
     private String loadCards() {
         StringBuilder sb = new StringBuilder();
         for (int i = 0; i < cards.size(); i++) sb.append(i).append(": ").append(cards.get(i)).append("\n");
@@ -325,6 +522,11 @@ public class GameBoy {
     }
 
     private void saveGameState() {
+        saveGameState(false);
+    }
+
+    private void saveGameState(boolean background) {
+        if (!dataLoader.persists()) return;
         // serialize current game state to JSON and save
         StringBuilder json = new StringBuilder();
         json.append("{\n");
@@ -362,15 +564,16 @@ public class GameBoy {
         json.append("  },\n");
         json.append("  \"cardsRemaining\": [");
         List<Card> cards = getCards();
-        json.append(cards.get(0).id);
-        for(int j = 1; j < cards.size(); j++){
-            json.append(", " + cards.get(j).id);
+        for(int j = 0; j < cards.size(); j++){
+            if (j > 0) json.append(", ");
+            json.append(cards.get(j).id);
         } 
         json.append( "],\n");
         json.append("  \"currTurn\": ").append(currentPlayerIndex).append("\n");
         json.append("}\n");
         // System.out.println("Saving game state:\n" + json.toString());
-        dataLoader.saveGame(json.toString());
+        if (background) dataLoader.saveGameAsync(json.toString());
+        else dataLoader.saveGame(json.toString());
     }
 
     @Override
@@ -0,0 +1,115 @@
+package Domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans a game's changes out to spectators. Moves go through the broadcaster,
+ * which computes one compact GameDelta per accepted move (or batch) and offers
+ * it to every subscriber's bounded queue. A subscriber whose queue is full has
+ * its pending deltas coalesced into one, so a slow consumer never blocks the
+ * game or grows without bound. New subscribers get a snapshot first and then
+ * every delta after it.
+ */
+public class GameBroadcaster {
+    private final GameBoy game;
+    private final List<Subscription> subscribers = new CopyOnWriteArrayList<>();
+    private GameSnapshot last;
+
+    public GameBroadcaster(GameBoy game) {
+        this.game = game;
+        this.last = GameSnapshot.of(game, 0);
+    }
+
+    /** One spectator's feed. Safe to read from a different thread than the one making moves. */
+    public class Subscription {
+        private final GameSnapshot initial;
+        private final ArrayBlockingQueue<GameDelta> queue;
+        private final AtomicLong coalesced = new AtomicLong();
+
+        private Subscription(GameSnapshot initial, int capacity) {
+            this.initial = initial;
+            this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        }
+
+        /** State at subscribe time; the first delta starts from its version. */
+        public GameSnapshot getSnapshot() { return initial; }
+
+        /** Next delta, or null if none is waiting. */
+        public GameDelta poll() { return queue.poll(); }
+
+        public GameDelta poll(long timeout, TimeUnit unit) throws InterruptedException {
+            return queue.poll(timeout, unit);
+        }
+
+        /** How many deltas were folded into others because this subscriber fell behind. */
+        public long getCoalesced() { return coalesced.get(); }
+
+        public void close() { subscribers.remove(this); }
+
+        // only called by the publishing thread, under the broadcaster's lock
+        private void offer(GameDelta d) {
+            if (queue.offer(d)) return;
+            // full: fold everything still pending plus d into one delta; the consumer
+            // may take one concurrently, which is fine since order is preserved
+            List<GameDelta> pending = new ArrayList<>(queue.size());
+            queue.drainTo(pending);
+            GameDelta merged = null;
+            for (GameDelta p : pending) merged = merged == null ? p : merged.merge(p);
+            merged = merged == null ? d : merged.merge(d);
+            coalesced.addAndGet(pending.size());
+            queue.offer(merged);
+        }
+    }
+
+    /** Subscribe with a queue of the given capacity; starts from the current state. */
+    public synchronized Subscription subscribe(int capacity) {
+        Subscription s = new Subscription(last, capacity);
+        subscribers.add(s);
+        return s;
+    }
+
+    public int getSubscriberCount() { return subscribers.size(); }
+
+    public GameBoy getGame() { return game; }
+
+    public synchronized boolean makeMove(Move move) {
+        boolean ok = game.makeMove(move);
+        if (ok) publish(false);
+        return ok;
+    }
+
+    public synchronized MoveResult[] makeMoves(List<Move> moves) {
+        MoveResult[] results = game.makeMoves(moves);
+        if (results.length > 0 && results[results.length - 1] == MoveResult.APPLIED) publish(false);
+        return results;
+    }
+
+    public synchronized void newGame() {
+        game.newGame();
+        publish(true);
+    }
+
+    public synchronized void newGame(long seed) {
+        game.newGame(seed);
+        publish(true);
+    }
+
+    /** Load the saved game; subscribers get a reset, like for a new game. */
+    public synchronized void loadGame() {
+        game.loadGame();
+        publish(true);
+    }
+
+    // computes the delta once and hands the same instance to every subscriber
+    private void publish(boolean reset) {
+        GameSnapshot next = GameSnapshot.of(game, last.version + 1);
+        GameDelta d = reset ? GameDelta.reset(last.version, next) : GameDelta.diff(last, next);
+        last = next;
+        for (Subscription s : subscribers) s.offer(d);
+    }
+}
@@ -0,0 +1,132 @@
+package Domain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact change between two GameSnapshots: only the chip counts and VP that
+ * moved, the ids of cards taken off the table and the new turn. When the whole
+ * game was replaced (new game or load), reset carries the full new snapshot
+ * and the other fields are empty.
+ */
+public final class GameDelta {
+    private static final int[] NONE = new int[0];
+
+    public final long fromVersion;
+    public final long toVersion;
+    /** Flattened (player, colorIndex, change) triples. */
+    public final int[] chipChanges;
+    /** Flattened (player, change) pairs. */
+    public final int[] vpChanges;
+    public final int[] removedCardIds;
+    /** Player to move after the change, or -1 if the turn did not change. */
+    public final int turn;
+    public final GameSnapshot reset;
+
+    private GameDelta(long fromVersion, long toVersion, int[] chipChanges, int[] vpChanges,
+                      int[] removedCardIds, int turn, GameSnapshot reset) {
+        this.fromVersion = fromVersion;
+        this.toVersion = toVersion;
+        this.chipChanges = chipChanges;
+        this.vpChanges = vpChanges;
+        this.removedCardIds = removedCardIds;
+        this.turn = turn;
+        this.reset = reset;
+    }
+
+    /** Delta that replaces the whole state, e.g. after a new game. */
+    public static GameDelta reset(long fromVersion, GameSnapshot to) {
+        return new GameDelta(fromVersion, to.version, NONE, NONE, NONE, -1, to);
+    }
+
+    /**
+     * Difference between two snapshots. Falls back to a reset when they are not
+     * of the same game, i.e. the player count changed or to's cards are not the
+     * same Card objects as from's, in the same order, with some removed.
+     */
+    public static GameDelta diff(GameSnapshot from, GameSnapshot to) {
+        if (from.getPlayerCount() != to.getPlayerCount()) return reset(from.version, to);
+        // cards are only ever removed in play, and the lists keep their order
+        List<Card> a = from.getCards();
+        List<Card> b = to.getCards();
+        if (b.size() > a.size()) return reset(from.version, to);
+        int[] removed = new int[a.size() - b.size()];
+        int nr = 0;
+        int j = 0;
+        for (Card card : a) {
+            if (j < b.size() && card == b.get(j)) j++;
+            else if (nr < removed.length) removed[nr++] = card.id;
+        }
+        if (j < b.size()) return reset(from.version, to);
+
+        int[] chips = new int[3 * from.getPlayerCount() * Card.COLORS.length];
+        int nc = 0;
+        int[] vps = new int[2 * from.getPlayerCount()];
+        int nv = 0;
+        for (int p = 0; p < from.getPlayerCount(); p++) {
+            for (int c = 0; c < Card.COLORS.length; c++) {
+                int change = to.getChips(p, c) - from.getChips(p, c);
+                if (change != 0) {
+                    chips[nc++] = p;
+                    chips[nc++] = c;
+                    chips[nc++] = change;
+                }
+            }
+            int change = to.getVP(p) - from.getVP(p);
+            if (change != 0) {
+                vps[nv++] = p;
+                vps[nv++] = change;
+            }
+        }
+        return new GameDelta(from.version, to.version, java.util.Arrays.copyOf(chips, nc),
+                java.util.Arrays.copyOf(vps, nv), removed, to.turn != from.turn ? to.turn : -1, null);
+    }
+
+    /** One delta with the effect of this one followed by later. Used to coalesce for slow subscribers. */
+    public GameDelta merge(GameDelta later) {
+        if (later.reset != null) return reset(fromVersion, later.reset);
+        if (reset != null) return reset(fromVersion, reset.apply(later));
+        int players = 0;
+        for (int i = 0; i < chipChanges.length; i += 3) players = Math.max(players, chipChanges[i] + 1);
+        for (int i = 0; i < later.chipChanges.length; i += 3) players = Math.max(players, later.chipChanges[i] + 1);
+        for (int i = 0; i < vpChanges.length; i += 2) players = Math.max(players, vpChanges[i] + 1);
+        for (int i = 0; i < later.vpChanges.length; i += 2) players = Math.max(players, later.vpChanges[i] + 1);
+        int[] chips = new int[players * Card.COLORS.length];
+        int[] vps = new int[players];
+        for (GameDelta d : new GameDelta[]{this, later}) {
+            for (int i = 0; i < d.chipChanges.length; i += 3) {
+                chips[d.chipChanges[i] * Card.COLORS.length + d.chipChanges[i + 1]] += d.chipChanges[i + 2];
+            }
+            for (int i = 0; i < d.vpChanges.length; i += 2) vps[d.vpChanges[i]] += d.vpChanges[i + 1];
+        }
+        List<Integer> chipList = new ArrayList<>();
+        for (int k = 0; k < chips.length; k++) {
+            if (chips[k] == 0) continue;
+            chipList.add(k / Card.COLORS.length);
+            chipList.add(k % Card.COLORS.length);
+            chipList.add(chips[k]);
+        }
+        List<Integer> vpList = new ArrayList<>();
+        for (int p = 0; p < players; p++) {
+            if (vps[p] == 0) continue;
+            vpList.add(p);
+            vpList.add(vps[p]);
+        }
+        int[] removed = java.util.Arrays.copyOf(removedCardIds, removedCardIds.length + later.removedCardIds.length);
+        System.arraycopy(later.removedCardIds, 0, removed, removedCardIds.length, later.removedCardIds.length);
+        return new GameDelta(fromVersion, later.toVersion, toArray(chipList), toArray(vpList), removed,
+                later.turn >= 0 ? later.turn : turn, null);
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        return list.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Override
+    public String toString() {
+        if (reset != null) return "Delta[" + fromVersion + "->" + toVersion + ", reset]";
+        return "Delta[" + fromVersion + "->" + toVersion + ", chips=" + java.util.Arrays.toString(chipChanges)
+                + ", vp=" + java.util.Arrays.toString(vpChanges) + ", removed="
+                + java.util.Arrays.toString(removedCardIds) + ", turn=" + turn + "]";
+    }
+}
@@ -0,0 +1,86 @@
+package Domain;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable copy of what spectators see of a game: VP and chips per player,
+ * the cards still on the table and whose turn it is. Chips are indexed by
+ * player, then by color as in {@link Card#COLORS}.
+ */
+public final class GameSnapshot {
+    public final long version;
+    public final int turn;
+    private final int[] vp;
+    private final int[][] chips;
+    private final List<Card> cards;
+
+    GameSnapshot(long version, int turn, int[] vp, int[][] chips, List<Card> cards) {
+        this.version = version;
+        this.turn = turn;
+        this.vp = vp;
+        this.chips = chips;
+        this.cards = cards;
+    }
+
+    public static GameSnapshot of(GameBoy game, long version) {
+        List<Player> players = game.getPlayers();
+        int[] vp = new int[players.size()];
+        int[][] chips = new int[players.size()][Card.COLORS.length];
+        for (int p = 0; p < players.size(); p++) {
+            vp[p] = players.get(p).getTotalVP();
+            for (int c = 0; c < Card.COLORS.length; c++) {
+                chips[p][c] = players.get(p).getChips().getOrDefault(Card.COLORS[c], 0);
+            }
+        }
+        return new GameSnapshot(version, game.getCurrentPlayerIndex(), vp, chips,
+                Collections.unmodifiableList(new ArrayList<>(game.getCards())));
+    }
+
+    public int getPlayerCount() { return vp.length; }
+
+    public int getVP(int player) { return vp[player]; }
+
+    public int getChips(int player, int colorIndex) { return chips[player][colorIndex]; }
+
+    public List<Card> getCards() { return cards; }
+
+    /** The state after applying a delta that starts at this snapshot's version. */
+    public GameSnapshot apply(GameDelta d) {
+        if (d.reset != null) return d.reset;
+        // snapshots are immutable, so anything the delta leaves alone is shared
+        int[] newVp = vp;
+        int[] vc = d.vpChanges;
+        if (vc.length > 0) {
+            newVp = vp.clone();
+            for (int i = 0; i < vc.length; i += 2) newVp[vc[i]] += vc[i + 1];
+        }
+        int[][] newChips = chips;
+        int[] cc = d.chipChanges;
+        if (cc.length > 0) {
+            newChips = chips.clone();
+            for (int i = 0; i < cc.length; i += 3) {
+                if (newChips[cc[i]] == chips[cc[i]]) newChips[cc[i]] = chips[cc[i]].clone();
+                newChips[cc[i]][cc[i + 1]] += cc[i + 2];
+            }
+        }
+        List<Card> newCards = cards;
+        if (d.removedCardIds.length > 0) {
+            newCards = new ArrayList<>(cards);
+            for (int id : d.removedCardIds) newCards.removeIf(c -> c.id == id);
+            newCards = Collections.unmodifiableList(newCards);
+        }
+        return new GameSnapshot(d.toVersion, d.turn >= 0 ? d.turn : turn, newVp, newChips, newCards);
+    }
+
+    /** True if both describe the same game state (versions are not compared). */
+    public boolean sameState(GameSnapshot o) {
+        if (turn != o.turn || !java.util.Arrays.equals(vp, o.vp) || !java.util.Arrays.deepEquals(chips, o.chips)) {
+            return false;
+        }
+        if (cards.size() != o.cards.size()) return false;
+        for (int i = 0; i < cards.size(); i++) if (cards.get(i).id != o.cards.get(i).id) return false;
+        return true;
+    }
+}
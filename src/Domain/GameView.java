@@ -0,0 +1,40 @@
+package Domain;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Read-only view of a GameBoy handed to strategies. It reads the live game, so
+ * it always reflects the latest move, but offers no way to change it.
+ */
+public final class GameView {
+    private final GameBoy game;
+
+    GameView(GameBoy game) {
+        this.game = game;
+    }
+
+    public int getPlayerCount() { return game.getPlayers().size(); }
+
+    public int getCurrentPlayerIndex() { return game.getCurrentPlayerIndex(); }
+
+    public int getVP(int player) { return game.getPlayers().get(player).getTotalVP(); }
+
+    public int getChips(int player, char color) {
+        return game.getPlayers().get(player).getChips().getOrDefault(Character.toUpperCase(color), 0);
+    }
+
+    public List<Card> getCards() { return Collections.unmodifiableList(game.getCards()); }
+
+    /** True once the current player has drawn a chip this turn (buying is then no longer allowed). */
+    public boolean isChipDrawn() { return game.isChipDrawn(); }
+
+    /** Chips of this color drawn by the current player so far this turn. */
+    public int getDrawnThisTurn(char color) { return game.drawnThisTurn(color); }
+
+    public boolean canDraw(char color) { return game.canDraw(color); }
+
+    public boolean canBuy(int cardIndex) { return game.canBuy(cardIndex); }
+
+    public boolean isGameOver() { return game.gameOver(); }
+}
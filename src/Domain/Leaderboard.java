@@ -0,0 +1,124 @@
+package Domain;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Live leaderboard shared by every hosted game: players by VP (one entry per
+ * player per game, running or finished) and by total wins across games.
+ * Each ranking is a concurrent skip list kept in score order, so an update is
+ * O(log n) and a top-K query walks only K entries. Updates to the same key
+ * are serialized on one of a fixed set of lock stripes; different keys update
+ * in parallel. An update moves a key's entry with an add and a remove, so
+ * updates share a read lock and a top-K query takes the write lock for its
+ * short walk; that way it sees every key exactly once.
+ */
+public class Leaderboard {
+    private static final int STRIPES = 64;
+
+    /** One ranked row. Ordered by score, highest first, then by key. */
+    public static final class Entry implements Comparable<Entry> {
+        public final String key;
+        public final long score;
+
+        Entry(String key, long score) {
+            this.key = key;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(Entry o) {
+            int c = Long.compare(o.score, score);
+            return c != 0 ? c : key.compareTo(o.key);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + score;
+        }
+    }
+
+    // a score per key kept in a map for lookup and a sorted set for ranking
+    private static final class Ranking {
+        private final ConcurrentHashMap<String, Entry> byKey = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListSet<Entry> ordered = new ConcurrentSkipListSet<>();
+        private final Object[] stripes = new Object[STRIPES];
+        // shared by updates, exclusive for top(): no query sees a half-moved entry
+        private final ReentrantReadWriteLock moving = new ReentrantReadWriteLock();
+
+        Ranking() {
+            for (int i = 0; i < STRIPES; i++) stripes[i] = new Object();
+        }
+
+        void set(String key, long score) {
+            synchronized (stripes[key.hashCode() & (STRIPES - 1)]) {
+                move(key, score);
+            }
+        }
+
+        void add(String key, long delta) {
+            synchronized (stripes[key.hashCode() & (STRIPES - 1)]) {
+                Entry old = byKey.get(key);
+                move(key, (old == null ? 0 : old.score) + delta);
+            }
+        }
+
+        // caller holds the key's stripe
+        private void move(String key, long score) {
+            Entry old = byKey.get(key);
+            if (old != null && old.score == score) return;
+            Entry e = new Entry(key, score);
+            moving.readLock().lock();
+            try {
+                ordered.add(e);
+                byKey.put(key, e);
+                if (old != null) ordered.remove(old);
+            } finally {
+                moving.readLock().unlock();
+            }
+        }
+
+        long get(String key) {
+            Entry e = byKey.get(key);
+            return e == null ? 0 : e.score;
+        }
+
+        List<Entry> top(int k) {
+            List<Entry> out = new ArrayList<>(Math.max(0, Math.min(k, 1024)));
+            moving.writeLock().lock();
+            try {
+                Iterator<Entry> it = ordered.iterator();
+                while (out.size() < k && it.hasNext()) out.add(it.next());
+            } finally {
+                moving.writeLock().unlock();
+            }
+            return out;
+        }
+    }
+
+    private final Ranking vp = new Ranking();
+    private final Ranking wins = new Ranking();
+
+    /** Current VP of a player in one game; key is usually "gameId/playerName". */
+    public void updateVP(String playerInGame, int totalVP) {
+        vp.set(playerInGame, totalVP);
+    }
+
+    public void recordWin(String playerName) {
+        wins.add(playerName, 1);
+    }
+
+    public long getVP(String playerInGame) { return vp.get(playerInGame); }
+
+    public long getWins(String playerName) { return wins.get(playerName); }
+
+    /** Highest VP totals across all games, best first. */
+    public List<Entry> topByVP(int k) { return vp.top(k); }
+
+    /** Most wins across all finished games, best first. */
+    public List<Entry> topByWins(int k) { return wins.top(k); }
+}
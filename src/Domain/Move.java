@@ -0,0 +1,44 @@
+package Domain;
+
+/**
+ * A single move as accepted by {@link GameBoy#makeMove(int, String)}: a chip
+ * draw (type DRAW, arg is the color) or a card buy (type BUY, arg is the card
+ * index in GameBoy.getCards()).
+ */
+public final class Move {
+    public static final int DRAW = 1;
+    public static final int BUY = 2;
+
+    public final int type;
+    public final String arg;
+
+    private Move(int type, String arg) {
+        this.type = type;
+        this.arg = arg;
+    }
+
+    public static Move draw(char color) {
+        return new Move(DRAW, String.valueOf(Character.toUpperCase(color)));
+    }
+
+    public static Move buy(int cardIndex) {
+        return new Move(BUY, String.valueOf(cardIndex));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof Move)) return false;
+        Move m = (Move) o;
+        return type == m.type && arg.equals(m.arg);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * type + arg.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return (type == DRAW ? "draw:" : "buy:") + arg;
+    }
+}
@@ -0,0 +1,13 @@
+package Domain;
+
+/** Outcome of one move in a batch submitted to {@link GameBoy#makeMoves}. */
+public enum MoveResult {
+    /** Applied; the whole batch went through. */
+    APPLIED,
+    /** Was allowed, but undone because a later move in the batch was rejected. */
+    ROLLED_BACK,
+    /** Broke the draw or buy rules; the batch stopped here and was undone. */
+    REJECTED,
+    /** Never tried because an earlier move was rejected. */
+    SKIPPED
+}
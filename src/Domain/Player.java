@@ -8,6 +8,7 @@ public class Player {
     private String name;
     private int totalVP;
     private Map<Character, Integer> chips; // e.g., 'R' -> 2, 'B' -> 1, 'K' -> gold
+    private VpListener vpListener;
 
     public Player(String name, int initVP, Map<Character, Integer> initialChips){
         System.out.println("Initial chips map: " + initialChips);
@@ -42,19 +43,25 @@ public class Player {
         return true;
     }
 
-    /**
-     * Try to buy a card. Returns true if purchase succeeded (chips and VP updated).
-     */
-    public boolean buyCard(Card card) {
-        Map<Character, Integer> cost = card.getCostMap();
+    /** True if this player holds enough chips of every color in the card's cost. */
+    public boolean canAfford(Card card) {
         // compute deficit after using existing chips; gold 'K' can be used as wildcard
-        for (Map.Entry<Character, Integer> e : cost.entrySet()) {
+        for (Map.Entry<Character, Integer> e : card.getCostMap().entrySet()) {
             char color = e.getKey();
             int need = e.getValue();
             int have = chips.getOrDefault(color, 0);
             int deficit = Math.max(0, need - have);
             if (deficit > 0) return false;
         }
+        return true;
+    }
+
+    /**
+     * Try to buy a card. Returns true if purchase succeeded (chips and VP updated).
+     */
+    public boolean buyCard(Card card) {
+        if (!canAfford(card)) return false;
+        Map<Character, Integer> cost = card.getCostMap();
 
         // deduct specific colors first
         for (Map.Entry<Character, Integer> e : cost.entrySet()) {
@@ -67,7 +74,7 @@ public class Player {
             }
         }
         // award VP
-        totalVP += card.getVictoryPoints();
+        setVP(totalVP + card.getVictoryPoints());
         return true;
     }
 
@@ -76,7 +83,24 @@ public class Player {
     }
 
     public void resetVP() {
-        totalVP = 0;
+        setVP(0);
+    }
+
+    // used by GameBoy to undo a rejected batch of moves
+    void restore(int totalVP, Map<Character, Integer> chips) {
+        this.chips.clear();
+        this.chips.putAll(chips);
+        setVP(totalVP);
+    }
+
+    void setVpListener(VpListener listener) {
+        this.vpListener = listener;
+    }
+
+    private void setVP(int vp) {
+        int old = totalVP;
+        totalVP = vp;
+        if (vpListener != null && old != vp) vpListener.vpChanged(this, old, vp);
     }
 
     @Override
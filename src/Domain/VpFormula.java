@@ -0,0 +1,26 @@
+package Domain;
+
+/**
+ * Victory-point formula for generated cards. The cost vector is indexed like
+ * {@link Card#COLORS}; implementations must not keep or modify it.
+ */
+@FunctionalInterface
+public interface VpFormula {
+    int victoryPoints(int[] costs);
+
+    /**
+     * The hand-tuned formula used by GameBoy: base (total cost / 3) plus a
+     * concentration bonus of one point per token above 2 in a single color.
+     */
+    VpFormula DEFAULT = costs -> {
+        int totalCost = 0;
+        int maxSingleColor = 0;
+        for (int c : costs) {
+            totalCost += c;
+            maxSingleColor = Math.max(maxSingleColor, c);
+        }
+        int baseCost = totalCost / 3; // scale down for wider range
+        int concentrationBonus = Math.max(0, maxSingleColor - 2);
+        return 1 + baseCost + concentrationBonus;
+    };
+}
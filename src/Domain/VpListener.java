@@ -0,0 +1,6 @@
+package Domain;
+
+/** Told whenever a player's VP changes; GameBoy uses it to track the leader. */
+interface VpListener {
+    void vpChanged(Player player, int oldVP, int newVP);
+}
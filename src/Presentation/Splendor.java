@@ -1,5 +1,7 @@
 package Presentation;
 
+import Bots.WinEstimator;
+import Domain.DeckPool;
 import Domain.GameBoy;
 import Domain.Player;
 import Domain.Card;
@@ -8,6 +10,8 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.util.List;
 
 /**
@@ -20,6 +24,10 @@ public class Splendor extends JFrame {
     private JTextArea logArea;
     private JPanel cardsPanel;
     private JLabel statusLabel;
+    private JProgressBar winBar;
+    private JLabel hintLabel;
+    private WinEstimator estimator;
+    private DeckPool deckPool;
 
     // track if we've shown the game-over dialog for the current finished game
     private boolean gameOverDialogShown = false;
@@ -27,20 +35,43 @@ public class Splendor extends JFrame {
     public Splendor() {
         super("Mini Splendor");
         this.gameBoy = new GameBoy();
+        // decks are pre-generated in the background so New Game does not generate on the EDT
+        this.deckPool = new DeckPool(4, System.nanoTime());
+        this.gameBoy.setDeckPool(deckPool);
+        // rollouts run on background threads; estimates come back on the EDT
+        int workers = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        this.estimator = new WinEstimator(workers, this::showEstimate, SwingUtilities::invokeLater);
         initUI();
     }
 
     private void initUI() {
         frame = this;
         frame.setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
+        frame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                shutdown();
+            }
+        });
         // increase window width so a 3x5 card grid can fit comfortably
         frame.setSize(1200, 700);
         frame.setLayout(new BorderLayout(8, 8));
 
-        // Top status
+        // Top status, with the current player's estimated win chance and a buy hint
+        JPanel top = new JPanel(new BorderLayout(8, 0));
         statusLabel = new JLabel("No game loaded");
         statusLabel.setBorder(BorderFactory.createEmptyBorder(6,6,6,6));
-        frame.add(statusLabel, BorderLayout.NORTH);
+        top.add(statusLabel, BorderLayout.CENTER);
+        JPanel estimatePanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 6, 2));
+        winBar = new JProgressBar(0, 100);
+        winBar.setStringPainted(true);
+        winBar.setString("Win chance: -");
+        winBar.setPreferredSize(new Dimension(180, 20));
+        hintLabel = new JLabel(" ");
+        estimatePanel.add(hintLabel);
+        estimatePanel.add(winBar);
+        top.add(estimatePanel, BorderLayout.EAST);
+        frame.add(top, BorderLayout.NORTH);
 
         // Center: cards grid inside a scroll pane (disable scrollbars; we'll size components to fit)
         cardsPanel = new JPanel();
@@ -97,12 +128,22 @@ public class Splendor extends JFrame {
         newGameBtn.addActionListener(e -> {
             gameOverDialogShown = false;
             gameBoy.newGame();
-            log("New game generated.");
+            logNewGame();
             refreshUI();
         });
         refreshBtn.addActionListener(e -> refreshUI());
     }
 
+    // the pool's hit rate and throughput show whether New Game ever had to generate inline
+    private void logNewGame() {
+        log("New game generated (deck seed " + gameBoy.getDeckSeed() + ", " + deckPool + ").");
+    }
+
+    private void shutdown() {
+        estimator.shutdown();
+        deckPool.shutdown();
+    }
+
     private void log(String s) {
         logArea.append(s + "\n");
         logArea.setCaretPosition(logArea.getDocument().getLength());
@@ -120,6 +161,12 @@ public class Splendor extends JFrame {
         String playerText = p == null ? "No player" : p.toString();
         statusLabel.setText("Current player: " + playerText);
 
+        // start estimating the new position on a copy; stale rollouts are cancelled
+        winBar.setValue(0);
+        hintLabel.setText(" ");
+        if (estimator.restart(gameBoy.copy())) winBar.setString("Win chance: ...");
+        else winBar.setString(gameBoy.isGameOver() ? "Game over" : "Win chance: -");
+
         cardsPanel.removeAll();
         List<Card> cards = gameBoy.getCards();
 
@@ -167,15 +214,31 @@ public class Splendor extends JFrame {
                 // start a new game
                 gameOverDialogShown = false;
                 gameBoy.newGame();
-                log("New game generated.");
+                logNewGame();
                 refreshUI();
             } else {
                 // quit the application
+                shutdown();
                 System.exit(0);
             }
         }
     }
 
+    // called on the EDT with throttled estimates; ignore ones for an earlier position
+    private void showEstimate(WinEstimator.Estimate e) {
+        if (!estimator.isCurrent(e)) return;
+        int me = gameBoy.getPlayers().indexOf(gameBoy.getCurrentPlayer());
+        if (me < 0 || me >= e.winProbability.length) return;
+        int pct = (int) Math.round(100 * e.winProbability[me]);
+        winBar.setValue(pct);
+        winBar.setString("Win chance: " + pct + "% (" + e.rollouts + " games)");
+        if (e.bestBuy >= 0) {
+            hintLabel.setText("Hint: buy card " + e.bestBuy + " (" + Math.round(100 * e.bestWinRate) + "%)");
+        } else {
+            hintLabel.setText("Hint: draw chips");
+        }
+    }
+
     // show UI
     public void playGame() {
         frame.setVisible(true);